@@ -0,0 +1,164 @@
+package com.library.availability;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of availability changes in a memory-mapped file.
+ * <p>
+ * The file starts with a header holding the checkpoint, the offset of the first change not yet
+ * written to the database. Each change is a fixed-size record (book ID, availability, CRC32), so a
+ * torn record at the end of the journal is detected and ignored on replay. Once all changes are
+ * flushed, the records are cleared and appends start again after the header.
+ */
+class AvailabilityJournal implements Closeable {
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+
+    private static final int MAGIC = 0x4c424a31;
+    private static final int CHECKPOINT_OFFSET = 8;
+    private static final byte RECORD_MARKER = 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean sync;
+    private int position;
+
+    private AvailabilityJournal(FileChannel channel, MappedByteBuffer buffer, boolean sync) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.sync = sync;
+    }
+
+    /**
+     * Open the journal file, creating it if it does not exist.
+     *
+     * @param path The journal file
+     * @param size The size of the mapped file
+     * @param sync Whether every append is forced to the storage device
+     * @return The opened journal, positioned after its last intact record
+     */
+    static AvailabilityJournal open(Path path, int size, boolean sync) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int mappedSize = Math.max(size, HEADER_SIZE + RECORD_SIZE);
+        if (channel.size() > mappedSize) {
+            // Keep the records of a larger journal written by a previous configuration
+            mappedSize = (int) channel.size();
+        }
+        AvailabilityJournal journal = new AvailabilityJournal(channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize), sync);
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * Changes recorded after the checkpoint, latest per book, in journal order.
+     */
+    synchronized Map<Long, Boolean> pending() {
+        Map<Long, Boolean> pending = new LinkedHashMap<>();
+        for (int offset = checkpointOffset(); offset < position; offset += RECORD_SIZE) {
+            long id = buffer.getLong(offset);
+            pending.remove(id);
+            pending.put(id, buffer.get(offset + 8) == 1);
+        }
+        return pending;
+    }
+
+    /**
+     * Append a change.
+     *
+     * @return false if the journal is full and must be flushed first
+     */
+    synchronized boolean append(long id, boolean available) {
+        if (position + RECORD_SIZE > buffer.capacity()) {
+            return false;
+        }
+        int offset = position;
+        buffer.putLong(offset, id);
+        buffer.put(offset + 8, available ? (byte) 1 : (byte) 0);
+        buffer.put(offset + 9, RECORD_MARKER);
+        buffer.putInt(offset + 12, checksum(id, available));
+        position += RECORD_SIZE;
+        if (sync) {
+            buffer.force(offset, RECORD_SIZE);
+        }
+        return true;
+    }
+
+    synchronized boolean hasRoom() {
+        return position + RECORD_SIZE <= buffer.capacity();
+    }
+
+    synchronized boolean isEmpty() {
+        return position == checkpointOffset();
+    }
+
+    /**
+     * Mark every recorded change as written to the database and reclaim the journal space.
+     * The checkpoint is moved first, so a crash while clearing never replays flushed changes.
+     */
+    synchronized void checkpoint() {
+        setCheckpoint(position);
+        for (int offset = HEADER_SIZE; offset < position; offset += Long.BYTES) {
+            buffer.putLong(offset, 0L);
+        }
+        setCheckpoint(HEADER_SIZE);
+        position = HEADER_SIZE;
+        if (sync) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void recover() {
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            setCheckpoint(HEADER_SIZE);
+        }
+        int offset = checkpointOffset();
+        while (offset + RECORD_SIZE <= buffer.capacity() && isIntact(offset)) {
+            offset += RECORD_SIZE;
+        }
+        position = offset;
+    }
+
+    private boolean isIntact(int offset) {
+        return buffer.get(offset + 9) == RECORD_MARKER
+                && buffer.getInt(offset + 12) == checksum(buffer.getLong(offset), buffer.get(offset + 8) == 1);
+    }
+
+    private int checkpointOffset() {
+        return (int) buffer.getLong(CHECKPOINT_OFFSET);
+    }
+
+    private void setCheckpoint(int offset) {
+        buffer.putLong(CHECKPOINT_OFFSET, offset);
+    }
+
+    private static int checksum(long id, boolean available) {
+        CRC32 crc = new CRC32();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (id >>> shift));
+        }
+        crc.update(available ? 1 : 0);
+        return (int) crc.getValue();
+    }
+}
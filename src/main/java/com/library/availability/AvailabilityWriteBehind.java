@@ -0,0 +1,296 @@
+package com.library.availability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Optional write-behind for availability toggles ({@code library.availability.write-behind.enabled}).
+ * <p>
+ * A toggle is recorded in the journal and in the in-memory map of pending changes, and acknowledged
+ * without writing the {@code books} table. The pending map is authoritative for the books it holds,
+ * coalesces repeated toggles of the same book, and is bounded by {@code queue-capacity}. A background
+ * worker writes all pending changes with JDBC batch updates every {@code flush-interval}, and the
+ * journal is replayed into the pending map after a crash.
+ * <p>
+ * Other writes to a book call {@link #settle()} first, so they see and overwrite the flushed state rather
+ * than racing it. Toggles record changes under the exclusive side of a settle lock, briefly; a settling
+ * write holds the shared side for its whole transaction while nothing is pending, so such writes run
+ * concurrently, and the exclusive side only while it flushes pending changes. Toggles never hold a pooled
+ * connection while holding or waiting for the lock, and every other caller opens its transaction before
+ * taking it, so the pool and the lock cannot deadlock.
+ * <p>
+ * Pending changes live in the memory and journal of one instance, so write-behind cannot be combined
+ * with cluster events ({@code library.cluster.enabled}).
+ */
+@Component
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@Slf4j
+public class AvailabilityWriteBehind {
+
+    private static final String UPDATE_AVAILABILITY = "UPDATE books SET available = ?, updated_at = ? WHERE id = ?";
+
+    private final WriteBehindProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Boolean> pending = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock settleLock = new ReentrantReadWriteLock();
+    /** Incremented whenever a settling write completes, so toggles can detect reads that raced it. */
+    private final AtomicLong settledEpoch = new AtomicLong();
+
+    private AvailabilityJournal journal;
+    private ScheduledExecutorService worker;
+    private Counter flushedCounter;
+    private Timer flushTimer;
+
+    public AvailabilityWriteBehind(WriteBehindProperties properties, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        journal = AvailabilityJournal.open(properties.getJournal(), properties.getJournalSize(),
+                properties.isJournalSync());
+        Map<Long, Boolean> replayed = journal.pending();
+        if (!replayed.isEmpty()) {
+            pending.putAll(replayed);
+            log.warn("Replayed {} unflushed availability changes from {}", replayed.size(), properties.getJournal());
+        }
+
+        Gauge.builder("library.availability.write-behind.pending", pending, Map::size)
+                .description("Books with availability changes not yet written to the database")
+                .register(meterRegistry);
+        flushedCounter = Counter.builder("library.availability.write-behind.flushed")
+                .description("Availability changes written to the database")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("library.availability.write-behind.flush")
+                .description("Time to write a batch of pending availability changes")
+                .register(meterRegistry);
+
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "availability-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        worker.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Availability write-behind enabled, flushing every {} ms", intervalMillis);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (journal == null) {
+            return;
+        }
+        worker.shutdown();
+        worker.awaitTermination(properties.getFlushInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+        // Changes that cannot be written now stay in the journal and are replayed on the next start
+        flushQuietly();
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * The current availability of a book, taking unflushed changes into account.
+     *
+     * @param id The book ID
+     * @param persisted The availability read from the database
+     */
+    public boolean availability(Long id, boolean persisted) {
+        if (id == null || pending.isEmpty()) {
+            return persisted;
+        }
+        return pending.getOrDefault(id, persisted);
+    }
+
+    /**
+     * Flip the availability of a book and record the change, without writing the database.
+     * Must not run inside a transaction: the book is read without holding the settle lock, and the
+     * flip is retried if a flush or another write to the books table completed in the meantime,
+     * since the read may then be stale. If the pending changes or the journal are full, they are
+     * flushed first.
+     *
+     * @param loader Reads the book from the database
+     * @param persistedAvailability Extracts the persisted availability from the book
+     * @return The book as read, with its new availability
+     */
+    public <T> Toggle<T> toggle(Long id, Supplier<T> loader, Predicate<T> persistedAvailability) {
+        while (true) {
+            long epoch = settledEpoch.get();
+            T book = loader.get();
+            settleLock.writeLock().lock();
+            try {
+                Boolean current = pending.get(id);
+                if (current == null && settledEpoch.get() != epoch) {
+                    continue;
+                }
+                return new Toggle<>(book, flip(id, current != null ? current : persistedAvailability.test(book)));
+            } catch (BacklogFullException e) {
+                log.debug("Write-behind backlog full, flushing before retrying toggle");
+            } finally {
+                settleLock.writeLock().unlock();
+            }
+            flush();
+        }
+    }
+
+    private boolean flip(Long id, boolean persisted) {
+        if (!pending.containsKey(id) && pending.size() >= properties.getQueueCapacity()) {
+            throw new BacklogFullException();
+        }
+        // The journal append happens inside compute, so journal order matches the order of changes per book
+        return pending.compute(id, (bookId, current) -> {
+            boolean available = !(current != null ? current : persisted);
+            if (!journal.append(bookId, available)) {
+                throw new BacklogFullException();
+            }
+            return available;
+        });
+    }
+
+    /**
+     * Write all pending changes as part of the current transaction and keep toggles out until it completes.
+     * Writes that read and update availability by other means call this first, so the database is
+     * authoritative for the rest of their transaction. Pending changes are only discarded once the
+     * transaction commits. While nothing is pending, settling writes do not wait for each other.
+     */
+    public void settle() {
+        if (!isEnabled()) {
+            return;
+        }
+        Lock lock = settleLock.readLock();
+        lock.lock();
+        // Toggles need the exclusive side, so nothing can become pending while the shared side is held
+        if (!pending.isEmpty() && settleLock.getWriteHoldCount() == 0) {
+            lock.unlock();
+            lock = settleLock.writeLock();
+            lock.lock();
+        }
+        Lock held = lock;
+        try {
+            writePending();
+        } catch (RuntimeException e) {
+            held.unlock();
+            throw e;
+        }
+        afterCompletion(committed -> {
+            settledEpoch.incrementAndGet();
+            held.unlock();
+        });
+    }
+
+    /**
+     * Write all pending changes in a transaction of their own.
+     */
+    void flush() {
+        if (!pending.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> settle());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Changes stay pending and journaled, and are retried on the next flush
+            log.error("Flushing availability changes failed: {}", e.getMessage());
+        }
+    }
+
+    private void writePending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Boolean> batch = Map.copyOf(pending);
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+
+        flushTimer.record(() -> {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            batch.forEach((id, available) -> rows.add(new Object[]{available, updatedAt, id}));
+            for (int from = 0; from < rows.size(); from += properties.getMaxBatchSize()) {
+                jdbcTemplate.batchUpdate(UPDATE_AVAILABILITY,
+                        rows.subList(from, Math.min(from + properties.getMaxBatchSize(), rows.size())));
+            }
+        });
+
+        afterCompletion(committed -> {
+            if (committed) {
+                // Still under the exclusive lock, so nothing changed since the batch was taken
+                batch.forEach(pending::remove);
+                journal.checkpoint();
+                flushedCounter.increment(batch.size());
+                log.debug("Flushed {} availability changes", batch.size());
+            }
+        });
+    }
+
+    /**
+     * Run an action when the current transaction completes, or immediately outside a transaction.
+     */
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+
+    /**
+     * A toggled book and its new availability.
+     */
+    public record Toggle<T>(T book, boolean available) {
+    }
+
+    /**
+     * Raised inside a toggle when the pending changes or the journal have no room left.
+     */
+    private static class BacklogFullException extends RuntimeException {
+        BacklogFullException() {
+            super(null, null, false, false);
+        }
+    }
+}
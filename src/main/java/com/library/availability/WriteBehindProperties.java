@@ -0,0 +1,51 @@
+package com.library.availability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for write-behind of availability changes.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.availability.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Whether availability toggles are acknowledged from memory and written to the database in the background.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Interval between background flushes of pending changes.
+     */
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /**
+     * Maximum number of books written per batch update.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Maximum number of books with pending changes; toggles wait for a flush beyond this.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Journal file recording every acknowledged change until it is flushed.
+     */
+    private Path journal = Path.of(System.getProperty("java.io.tmpdir"), "library-availability.journal");
+
+    /**
+     * Size of the memory-mapped journal; a full journal forces a flush.
+     */
+    private int journalSize = 4 * 1024 * 1024;
+
+    /**
+     * Whether every journal append is forced to the storage device. Without it, changes survive a process
+     * crash but may be lost if the machine itself fails before the operating system writes them out.
+     */
+    private boolean journalSync = false;
+}
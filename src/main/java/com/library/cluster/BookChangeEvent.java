@@ -0,0 +1,85 @@
+package com.library.cluster;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A committed change to the books of one branch, as broadcast between instances.
+ * Received events are published as Spring application events, so anything holding state derived
+ * from the catalog can listen for them and invalidate or adjust it.
+ *
+ * @param origin The node that made the change
+ * @param branch The branch of the changed books
+ * @param type What kind of change was made
+ * @param bookIds The changed books, or null if too many to list; any book of the branch may have changed
+ * @param counts The change in the number of books per author and availability
+ */
+public record BookChangeEvent(String origin, String branch, Type type, List<Long> bookIds, List<CountChange> counts) {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED,
+        /**
+         * Events may have been missed, e.g. while reconnecting; derived state must be rebuilt from the database.
+         */
+        RESYNC
+    }
+
+    /**
+     * A change in the number of books of an author with a given availability; the author may be null.
+     */
+    public record CountChange(String author, boolean available, long books) {
+    }
+
+    public static BookChangeEvent added(Long id, String author, boolean available) {
+        return of(Type.ADDED, List.of(id), List.of(new CountChange(author, available, 1)));
+    }
+
+    public static BookChangeEvent updated(Long id) {
+        return of(Type.UPDATED, List.of(id), List.of());
+    }
+
+    public static BookChangeEvent updated(Long id, String oldAuthor, boolean oldAvailable,
+                                          String newAuthor, boolean newAvailable) {
+        if (oldAvailable == newAvailable && Objects.equals(oldAuthor, newAuthor)) {
+            return updated(id);
+        }
+        return of(Type.UPDATED, List.of(id), List.of(
+                new CountChange(oldAuthor, oldAvailable, -1), new CountChange(newAuthor, newAvailable, 1)));
+    }
+
+    /**
+     * Books whose availability changed; the authors are unknown, so only the availability totals move.
+     */
+    public static BookChangeEvent availabilityChanged(List<Long> ids, boolean nowAvailable, long count) {
+        return of(Type.UPDATED, ids, List.of(
+                new CountChange(null, !nowAvailable, -count), new CountChange(null, nowAvailable, count)));
+    }
+
+    public static BookChangeEvent removed(List<Long> ids, List<CountChange> counts) {
+        return of(Type.REMOVED, ids, counts);
+    }
+
+    public static BookChangeEvent resync(String origin) {
+        return new BookChangeEvent(origin, null, Type.RESYNC, null, List.of());
+    }
+
+    /**
+     * This event as sent by the given node for the given branch.
+     */
+    public BookChangeEvent from(String origin, String branch) {
+        return new BookChangeEvent(origin, branch, type, bookIds, counts);
+    }
+
+    /**
+     * This event without its book IDs, marking every book of the branch as possibly changed.
+     */
+    public BookChangeEvent withoutBookIds() {
+        return new BookChangeEvent(origin, branch, type, null, counts);
+    }
+
+    private static BookChangeEvent of(Type type, List<Long> ids, List<CountChange> counts) {
+        return new BookChangeEvent(null, null, type, List.copyOf(ids), counts);
+    }
+}
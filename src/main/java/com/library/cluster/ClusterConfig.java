@@ -0,0 +1,36 @@
+package com.library.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+/**
+ * Selects the {@link ClusterTransport} implementation from {@code library.cluster.transport}.
+ */
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfig {
+
+    /**
+     * Connects to the catalog database outside the application's pool, which the listener and the
+     * sender would otherwise each hold a connection of for good.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "library.cluster.transport", havingValue = "postgres")
+    public ClusterTransport postgresClusterTransport(DataSourceProperties dataSourceProperties,
+                                                     ClusterProperties properties) {
+        SimpleDriverDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        return new PostgresClusterTransport(dataSource, properties.getChannel(), properties.getReconnectDelay());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.cluster.transport", havingValue = "in-process", matchIfMissing = true)
+    public ClusterTransport inProcessClusterTransport(ClusterProperties properties) {
+        return new InProcessClusterTransport(properties.getChannel());
+    }
+}
@@ -0,0 +1,217 @@
+package com.library.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.availability.WriteBehindProperties;
+import com.library.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasts committed catalog changes to the other instances ({@code library.cluster.enabled}) and
+ * publishes the changes they make as {@link BookChangeEvent} application events on this one.
+ * <p>
+ * Events are sent once the transaction that made the change commits, one at a time from a sender thread
+ * of their own, so sending never needs a second connection while the transaction's is still held and never
+ * fails the change itself. An event too large for the transport is sent without its book IDs, or else as
+ * a resync. When an event cannot be sent, the other instances are asked to resync instead; until that
+ * request goes out, retried every {@code reconnect-delay}, later events are dropped as it covers them.
+ * Events this instance sent itself are skipped when they come back. Availability write-behind holds
+ * changes on one instance only, so the bus refuses to start when it is enabled.
+ */
+@Component
+@Slf4j
+public class ClusterEventBus {
+
+    private final ClusterProperties properties;
+    private final ClusterTransport transport;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindProperties writeBehindProperties;
+    private final Counter sentCounter;
+    private final Counter receivedCounter;
+    private final Counter failedCounter;
+    private ScheduledExecutorService sender;
+    // Only used on the sender thread
+    private boolean resyncOwed;
+
+    public ClusterEventBus(ClusterProperties properties, ClusterTransport transport, ObjectMapper objectMapper,
+                           ApplicationEventPublisher eventPublisher, WriteBehindProperties writeBehindProperties,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.writeBehindProperties = writeBehindProperties;
+        this.sentCounter = Counter.builder("library.cluster.events.sent")
+                .description("Catalog change events sent to other instances")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("library.cluster.events.received")
+                .description("Catalog change events received from other instances")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("library.cluster.events.failed")
+                .description("Catalog change events that could not be sent or read")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (writeBehindProperties.isEnabled()) {
+            throw new IllegalStateException("Availability write-behind keeps pending changes on one instance and "
+                    + "cannot be combined with cluster events: disable library.availability.write-behind.enabled "
+                    + "or library.cluster.enabled");
+        }
+        sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        transport.start(this::receive, this::resync);
+        log.info("Cluster events enabled on channel '{}' as node {}", properties.getChannel(), properties.getNodeId());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!properties.isEnabled() || sender == null) {
+            return;
+        }
+        sender.shutdown();
+        try {
+            if (!sender.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Gave up waiting for catalog change events to be sent");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transport.close();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Broadcast a change to the books of the caller's branch once the surrounding transaction commits,
+     * or right away outside a transaction; the event is then sent from the sender thread.
+     * Does nothing unless cluster events are enabled.
+     */
+    public void publish(BookChangeEvent change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        BookChangeEvent event = change.from(properties.getNodeId(), TenantContext.current());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(BookChangeEvent event) {
+        try {
+            sender.execute(() -> send(event));
+        } catch (RejectedExecutionException e) {
+            log.debug("Not broadcasting {} change of branch '{}' while shutting down", event.type(), event.branch());
+        }
+    }
+
+    private void send(BookChangeEvent event) {
+        if (resyncOwed) {
+            return;
+        }
+        try {
+            transport.send(serialize(event));
+            sentCounter.increment();
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Failed to broadcast {} change of branch '{}', asking other nodes to resync: {}",
+                    event.type(), event.branch(), e.getMessage());
+            resyncOwed = true;
+            scheduleResync();
+        }
+    }
+
+    private String serialize(BookChangeEvent event) throws JsonProcessingException {
+        if (event.bookIds() != null && event.bookIds().size() > properties.getMaxBookIdsPerEvent()) {
+            event = event.withoutBookIds();
+        }
+        String message = objectMapper.writeValueAsString(event);
+        if (!fits(message) && event.bookIds() != null) {
+            message = objectMapper.writeValueAsString(event.withoutBookIds());
+        }
+        if (!fits(message)) {
+            log.warn("{} change of branch '{}' is too large to broadcast, asking other nodes to resync instead",
+                    event.type(), event.branch());
+            message = objectMapper.writeValueAsString(BookChangeEvent.resync(properties.getNodeId()));
+        }
+        return message;
+    }
+
+    private boolean fits(String message) {
+        return message.getBytes(StandardCharsets.UTF_8).length <= transport.maxMessageBytes();
+    }
+
+    private void scheduleResync() {
+        try {
+            sender.schedule(this::sendResync, properties.getReconnectDelay().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("Shutting down before other nodes could be asked to resync");
+        }
+    }
+
+    private void sendResync() {
+        try {
+            transport.send(objectMapper.writeValueAsString(BookChangeEvent.resync(properties.getNodeId())));
+            resyncOwed = false;
+            sentCounter.increment();
+            log.info("Asked other nodes to resync after a failed broadcast");
+        } catch (Exception e) {
+            log.warn("Failed to ask other nodes to resync, retrying in {}: {}",
+                    properties.getReconnectDelay(), e.getMessage());
+            scheduleResync();
+        }
+    }
+
+    private void receive(String message) {
+        BookChangeEvent event;
+        try {
+            event = objectMapper.readValue(message, BookChangeEvent.class);
+        } catch (JsonProcessingException e) {
+            failedCounter.increment();
+            log.warn("Ignoring unreadable catalog change event: {}", e.getMessage());
+            return;
+        }
+        if (properties.getNodeId().equals(event.origin())) {
+            return;
+        }
+        receivedCounter.increment();
+        log.debug("Received {} change of branch '{}' from node {}", event.type(), event.branch(), event.origin());
+        eventPublisher.publishEvent(event);
+    }
+
+    private void resync() {
+        log.info("Catalog change events may have been missed, resynchronizing");
+        eventPublisher.publishEvent(BookChangeEvent.resync(properties.getNodeId()));
+    }
+}
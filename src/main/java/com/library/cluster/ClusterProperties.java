@@ -0,0 +1,57 @@
+package com.library.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuration for broadcasting catalog changes between instances sharing a database.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.cluster")
+public class ClusterProperties {
+
+    /**
+     * Whether catalog changes are broadcast to, and received from, other instances.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How change events travel between instances.
+     */
+    private Transport transport = Transport.IN_PROCESS;
+
+    /**
+     * Notification channel shared by all instances; must be a plain lower-case SQL identifier.
+     */
+    private String channel = "library_book_changes";
+
+    /**
+     * Identifies this instance in the events it sends, so it can skip its own.
+     */
+    private String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Maximum number of book IDs sent with one event; larger changes are sent as affecting the whole branch.
+     */
+    private int maxBookIdsPerEvent = 500;
+
+    /**
+     * Delay before the listener reconnects after losing its database connection.
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    public enum Transport {
+        /**
+         * Delivers events within this JVM only, e.g. between application contexts in tests.
+         */
+        IN_PROCESS,
+
+        /**
+         * PostgreSQL LISTEN/NOTIFY on the catalog database.
+         */
+        POSTGRES
+    }
+}
@@ -0,0 +1,39 @@
+package com.library.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries serialized {@link BookChangeEvent}s between instances.
+ * Delivery is best effort; a transport that may have lost messages reports it through the
+ * {@code onResync} callback so receivers can rebuild their state.
+ */
+public interface ClusterTransport extends AutoCloseable {
+
+    /**
+     * Start receiving messages, including the ones this instance sends itself.
+     *
+     * @param receiver Called with every received message, possibly from another thread
+     * @param onResync Called when messages may have been missed
+     */
+    void start(Consumer<String> receiver, Runnable onResync);
+
+    /**
+     * Send a message to every instance.
+     *
+     * @throws Exception If the message could not be handed to the transport
+     */
+    void send(String message) throws Exception;
+
+    /**
+     * The largest message, in UTF-8 bytes, the transport can send.
+     */
+    default int maxMessageBytes() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Stop receiving messages.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,44 @@
+package com.library.cluster;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterTransport} connecting all instances on the same channel within this JVM.
+ * Messages are delivered synchronously on the sending thread. Stands in for a real transport in
+ * tests and single-process setups running several application contexts.
+ */
+public class InProcessClusterTransport implements ClusterTransport {
+
+    private static final Map<String, Set<Consumer<String>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private volatile Consumer<String> receiver;
+
+    public InProcessClusterTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<String> receiver, Runnable onResync) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, key -> new CopyOnWriteArraySet<>()).add(receiver);
+    }
+
+    @Override
+    public void send(String message) {
+        CHANNELS.getOrDefault(channel, Set.of()).forEach(receiver -> receiver.accept(message));
+    }
+
+    @Override
+    public void close() {
+        Consumer<String> current = receiver;
+        if (current != null) {
+            CHANNELS.getOrDefault(channel, Set.of()).remove(current);
+            receiver = null;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.library.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ClusterTransport} over PostgreSQL LISTEN/NOTIFY on the catalog database, so instances need
+ * nothing besides the database they already share.
+ * The given data source should open dedicated connections rather than borrow them from the application's
+ * pool: a listener thread holds one for as long as the application runs, and sending keeps another open.
+ * Notifications sent while the listener connection is down are lost, so every reconnect asks receivers
+ * to resync. Payloads must be shorter than 8000 bytes.
+ */
+@Slf4j
+public class PostgresClusterTransport implements ClusterTransport {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listener;
+    private Connection sendConnection;
+
+    public PostgresClusterTransport(DataSource dataSource, String channel, Duration reconnectDelay) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> receiver, Runnable onResync) {
+        running = true;
+        listener = new Thread(() -> listen(receiver, onResync), "cluster-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void send(String message) throws SQLException {
+        if (sendConnection == null) {
+            sendConnection = dataSource.getConnection();
+            sendConnection.setAutoCommit(true);
+        }
+        try (PreparedStatement statement = sendConnection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, message);
+            statement.execute();
+        } catch (SQLException e) {
+            closeSendConnection();
+            throw e;
+        }
+    }
+
+    @Override
+    public int maxMessageBytes() {
+        return MAX_PAYLOAD_BYTES;
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+        closeSendConnection();
+    }
+
+    private void closeSendConnection() {
+        if (sendConnection == null) {
+            return;
+        }
+        try {
+            sendConnection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close the catalog change sender connection: {}", e.getMessage());
+        }
+        sendConnection = null;
+    }
+
+    private void listen(Consumer<String> receiver, Runnable onResync) {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for catalog changes on channel '{}'", channel);
+                if (connectedBefore) {
+                    onResync.run();
+                }
+                connectedBefore = true;
+
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            deliver(receiver, notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost the catalog change listener connection, reconnecting in {}: {}",
+                        reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void deliver(Consumer<String> receiver, String message) {
+        try {
+            receiver.accept(message);
+        } catch (RuntimeException e) {
+            log.error("Failed to apply a catalog change notification", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} housekeeping tasks such as purging expired idempotency keys.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
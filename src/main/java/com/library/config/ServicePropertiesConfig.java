@@ -0,0 +1,13 @@
+package com.library.config;
+
+import com.library.service.BulkOperationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the configuration properties used by the service layer.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkOperationProperties.class)
+public class ServicePropertiesConfig {
+}
@@ -0,0 +1,44 @@
+package com.library.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Registers the compact binary wire formats offered next to JSON.
+ * Clients select a format through the {@code Accept} and {@code Content-Type} headers:
+ * <ul>
+ *     <li>{@code application/json} - default, human readable</li>
+ *     <li>{@code application/x-jackson-smile} - Smile, binary JSON with shared property names</li>
+ *     <li>{@code application/cbor} - CBOR (RFC 8949)</li>
+ * </ul>
+ * Spring MVC registers Smile and CBOR converters on its own when the libraries are present, but builds
+ * them without Boot's {@link Jackson2ObjectMapperBuilder}, so they would write dates as arrays and ignore
+ * {@code spring.jackson.*}. These beans replace them with converters built from the application's builder,
+ * applying the same modules and features as the JSON converter, and are reused by {@code BookStreamWriter}.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder
+                .factory(new SmileFactory())
+                .build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder
+                .factory(new CBORFactory())
+                .build());
+    }
+}
@@ -1,19 +1,33 @@
 package com.library.controller;
 
+import com.library.config.WireFormatConfig;
+import com.library.dto.BookBatchRequestDTO;
+import com.library.dto.BookBatchResponseDTO;
 import com.library.dto.BookDTO;
 import com.library.dto.BookResponseDTO;
+import com.library.dto.BulkDeleteRequestDTO;
+import com.library.dto.BulkOperationResponseDTO;
+import com.library.dto.BulkUpdateRequestDTO;
+import com.library.dto.CatalogStatsDTO;
 import com.library.service.BookService;
+import com.library.sql.ChunkedQueries;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -30,11 +44,41 @@ import java.util.Map;
 public class BookController {
 
     private final BookService bookService;
+    private final BookStreamWriter bookStreamWriter;
 
-    @GetMapping
-    @Operation(summary = "Get all books", description = "Retrieves all books in the library")
-    public ResponseEntity<List<BookResponseDTO>> getAllBooks() {
-        return ResponseEntity.ok(bookService.getAllBooks());
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, WireFormatConfig.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(summary = "Get all books", description = "Retrieves all books in the library, streamed as they are read")
+    public ResponseEntity<StreamingResponseBody> getAllBooks(HttpServletRequest request)
+            throws HttpMediaTypeNotAcceptableException {
+        return bookStreamWriter.streamAllBooks(request);
+    }
+
+    @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, WireFormatConfig.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    @ChunkedQueries
+    @Operation(summary = "Get books by IDs", description = "Retrieves many books in request order and reports the IDs not found")
+    public ResponseEntity<BookBatchResponseDTO> getBooksByIds(
+            @Parameter(description = "Comma-separated book IDs", required = true)
+            @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(bookService.getBooksByIds(ids));
+    }
+
+    @PostMapping("/batch-get")
+    @ChunkedQueries
+    @Operation(summary = "Get books by IDs", description = "Retrieves many books in request order and reports the IDs not found")
+    public ResponseEntity<BookBatchResponseDTO> batchGetBooks(
+            @Parameter(description = "Book IDs", required = true)
+            @Valid @RequestBody BookBatchRequestDTO request) {
+        return ResponseEntity.ok(bookService.getBooksByIds(request.getIds()));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get catalog statistics", description = "Retrieves book totals, availability counts and top authors")
+    public ResponseEntity<CatalogStatsDTO> getCatalogStatistics(
+            @Parameter(description = "Number of top authors to include")
+            @RequestParam(defaultValue = "10") @Min(0) @Max(1000) int topAuthors) {
+        return ResponseEntity.ok(bookService.getCatalogStatistics(topAuthors));
     }
 
     @GetMapping("/{id}")
@@ -110,4 +154,22 @@ public class BookController {
             @PathVariable Long id) {
         return ResponseEntity.ok(bookService.toggleAvailability(id));
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/bulk")
+    @ChunkedQueries
+    @Operation(summary = "Bulk update availability", description = "Sets the availability of many books, selected by ID list or filter")
+    public ResponseEntity<BulkOperationResponseDTO> bulkUpdateAvailability(
+            @Parameter(description = "Book selection and target availability", required = true)
+            @Valid @RequestBody BulkUpdateRequestDTO request) {
+        return ResponseEntity.ok(bookService.bulkUpdateAvailability(request));
+    }
+
+    @DeleteMapping("/bulk")
+    @ChunkedQueries
+    @Operation(summary = "Bulk delete books", description = "Removes many books, selected by ID list or filter")
+    public ResponseEntity<BulkOperationResponseDTO> bulkDelete(
+            @Parameter(description = "Book selection", required = true)
+            @Valid @RequestBody BulkDeleteRequestDTO request) {
+        return ResponseEntity.ok(bookService.bulkDelete(request));
+    }
+}
@@ -0,0 +1,109 @@
+package com.library.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.library.dto.BookResponseDTO;
+import com.library.service.BookService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * Writes book lists incrementally as a JSON, Smile or CBOR array.
+ * Books are encoded with a {@link JsonGenerator} as they are read from the repository,
+ * so time-to-first-byte and peak memory do not depend on the size of the catalog.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookStreamWriter {
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    /**
+     * Build a streaming response for all books, encoded in the best format the client accepts.
+     * The mapping declares the producible types, so requests accepting none of them are rejected
+     * with 406 before reaching this method.
+     *
+     * @param request The request, already matched to a mapping that produces the supported formats
+     * @return The streaming response entity
+     */
+    public ResponseEntity<StreamingResponseBody> streamAllBooks(HttpServletRequest request)
+            throws HttpMediaTypeNotAcceptableException {
+        MediaType mediaType = negotiatedMediaType(request);
+        ObjectMapper mapper = objectMapper;
+        if (smileConverter.getSupportedMediaTypes().stream().anyMatch(mediaType::equalsTypeAndSubtype)) {
+            mapper = smileConverter.getObjectMapper();
+        } else if (cborConverter.getSupportedMediaTypes().stream().anyMatch(mediaType::equalsTypeAndSubtype)) {
+            mapper = cborConverter.getObjectMapper();
+        }
+
+        ObjectMapper selectedMapper = mapper;
+        StreamingResponseBody body = outputStream -> writeAllBooks(selectedMapper, outputStream);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    /**
+     * The producible type the client prefers most, chosen the way Spring MVC chooses a message converter:
+     * the accepted types in the client's order of preference, matched against the types of the mapping's
+     * {@code produces} condition that the handler mapping found acceptable.
+     */
+    @SuppressWarnings("unchecked")
+    private MediaType negotiatedMediaType(HttpServletRequest request) throws HttpMediaTypeNotAcceptableException {
+        Set<MediaType> producible =
+                (Set<MediaType>) request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        if (producible == null || producible.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request))) {
+            for (MediaType candidate : producible) {
+                if (accepted.isCompatibleWith(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return producible.iterator().next();
+    }
+
+    private void writeAllBooks(ObjectMapper mapper, OutputStream outputStream) throws IOException {
+        // One flush per book would defeat the generator's buffering
+        ObjectWriter writer = mapper.writerFor(BookResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            bookService.streamAllBooks(book -> {
+                try {
+                    writer.writeValue(generator, book);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            log.warn("Streaming of book list aborted: {}", e.getMessage());
+            throw e.getCause();
+        }
+    }
+}
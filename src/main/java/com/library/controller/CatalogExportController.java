@@ -0,0 +1,71 @@
+package com.library.controller;
+
+import com.library.dto.ExportJobDTO;
+import com.library.export.CatalogExportService;
+import com.library.export.ExportFormat;
+import com.library.export.ExportJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+/**
+ * REST controller for exporting the book catalog.
+ * Exports are streamed straight to the client or written to a file by a background job.
+ */
+@RestController
+@RequestMapping("/api/books/export")
+@RequiredArgsConstructor
+@Tag(name = "Catalog Export Controller", description = "API endpoints for exporting the book catalog")
+public class CatalogExportController {
+
+    private final CatalogExportService exportService;
+
+    @GetMapping
+    @Operation(summary = "Export catalog", description = "Streams the whole catalog as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @Parameter(description = "Export format (csv, ndjson)")
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        StreamingResponseBody body = outputStream ->
+                exportService.export(exportFormat, Channels.newChannel(outputStream), "http");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("catalog." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PostMapping("/jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Start file export", description = "Starts exporting the catalog to a file on the server")
+    public ResponseEntity<ExportJobDTO> startFileExport(
+            @Parameter(description = "Export format (csv, ndjson)")
+            @RequestParam(defaultValue = "csv") String format) throws IOException {
+        ExportJob job = exportService.startFileExport(ExportFormat.fromName(format));
+        return new ResponseEntity<>(job.toDTO(), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get export job", description = "Reports the progress of an export job")
+    public ResponseEntity<ExportJobDTO> getExportJob(
+            @Parameter(description = "Export job ID", required = true)
+            @PathVariable String id) {
+        return exportService.findBranchJob(id)
+                .map(job -> ResponseEntity.ok(job.toDTO()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,23 @@
+package com.library.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to look up many books at once by their IDs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBatchRequestDTO {
+
+    @NotEmpty(message = "Book IDs are required")
+    private List<@NotNull(message = "Book IDs cannot be null") Long> ids;
+}
@@ -0,0 +1,22 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Books found by a batch lookup, in the order their IDs were requested, and the IDs that were not found.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBatchResponseDTO {
+
+    private int requested;
+    private List<BookResponseDTO> books;
+    private List<Long> missingIds;
+}
@@ -1,5 +1,6 @@
 package com.library.dto;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -10,7 +11,9 @@ import lombok.NoArgsConstructor;
 /**
  * Data Transfer Object for book creation and updates.
  * Contains validation rules for input data.
+ * Request bodies may be sent as JSON, Smile or CBOR (see {@link com.library.config.WireFormatConfig}).
  */
+@JsonPropertyOrder({"title", "author", "isbn", "available"})
 @Data
 @Builder
 @NoArgsConstructor
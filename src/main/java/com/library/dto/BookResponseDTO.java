@@ -1,5 +1,6 @@
 package com.library.dto;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,9 +11,11 @@ import java.time.LocalDateTime;
 /**
  * Response DTO for book data.
  * Used to return book information to clients.
+ * The property order is fixed so that JSON, Smile and CBOR payloads share one stable layout.
  */
+@JsonPropertyOrder({"id", "title", "author", "isbn", "available", "createdAt", "updatedAt", "availabilityStatus"})
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class BookResponseDTO {
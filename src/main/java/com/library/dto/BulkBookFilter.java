@@ -0,0 +1,29 @@
+package com.library.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Criteria selecting the books affected by a bulk operation.
+ * Unset criteria match every book, but at least one criterion must be set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookFilter {
+
+    private String author;
+
+    private Boolean available;
+
+    @JsonIgnore
+    @AssertTrue(message = "Filter must specify author or available")
+    public boolean isRestrictive() {
+        return author != null || available != null;
+    }
+}
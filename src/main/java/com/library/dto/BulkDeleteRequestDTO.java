@@ -0,0 +1,32 @@
+package com.library.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to delete many books at once, selected by an explicit ID list or by a filter.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteRequestDTO {
+
+    private List<Long> ids;
+
+    @Valid
+    private BulkBookFilter filter;
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of ids or filter must be provided")
+    public boolean isSelectionValid() {
+        return (ids != null && !ids.isEmpty()) ^ (filter != null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk operation, with a result for every selected book ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponseDTO {
+
+    private int requested;
+    private int succeeded;
+    private int unchanged;
+    private int notFound;
+    private List<ItemResult> results;
+
+    /**
+     * Result of a bulk operation for a single book.
+     * {@code UNCHANGED} books exist but were already in the requested state.
+     */
+    public enum Status {
+        UPDATED, DELETED, UNCHANGED, NOT_FOUND
+    }
+
+    /**
+     * Per-ID outcome of a bulk operation.
+     */
+    public record ItemResult(Long id, Status status) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.library.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to set the availability of many books at once.
+ * Books are selected either by an explicit ID list or by a filter.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateRequestDTO {
+
+    private List<Long> ids;
+
+    @Valid
+    private BulkBookFilter filter;
+
+    @NotNull(message = "Target availability is required")
+    private Boolean available;
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of ids or filter must be provided")
+    public boolean isSelectionValid() {
+        return (ids != null && !ids.isEmpty()) ^ (filter != null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Aggregated catalog statistics for dashboards.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogStatsDTO {
+    private long totalBooks;
+    private long availableBooks;
+    private long checkedOutBooks;
+    private long authors;
+    private Map<String, Long> topAuthors;
+    private Instant lastReconciledAt;
+}
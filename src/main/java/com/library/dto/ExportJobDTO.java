@@ -0,0 +1,30 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress and throughput of a catalog export job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobDTO {
+    private String id;
+    private String branch;
+    private String format;
+    private String target;
+    private String status;
+    private long rowsWritten;
+    private long bytesWritten;
+    private long rowsPerSecond;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
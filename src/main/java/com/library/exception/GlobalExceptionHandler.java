@@ -1,12 +1,18 @@
 package com.library.exception;
 
+import com.library.export.ExportQueueFullException;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -38,6 +44,66 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle IllegalArgumentException raised for invalid request parameters.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        log.error("Invalid request: {}", ex.getMessage());
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle constraint violations on request parameters and path variables.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException ex) {
+        log.error("Constraint violations: {}", ex.getMessage());
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle file exports arriving while every export slot and queue place is taken.
+     */
+    @ExceptionHandler(ExportQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleExportQueueFullException(ExportQueueFullException ex) {
+        log.warn("Export rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(buildErrorResponse("Too many exports are running, retry later",
+                        HttpStatus.SERVICE_UNAVAILABLE).getBody());
+    }
+
+    /**
+     * Handle request parameters and path variables that cannot be converted, e.g. a non-numeric book ID.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex) {
+        log.error("Invalid value for {}: {}", ex.getName(), ex.getValue());
+        return buildErrorResponse("Invalid value for '" + ex.getName() + "': " + ex.getValue(),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle request bodies that are missing or cannot be parsed.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        log.error("Unreadable request body: {}", ex.getMessage());
+        return buildErrorResponse("Malformed request body", HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle requests accepting none of the formats an endpoint produces.
+     * Answered without a body, since the client accepts no format it could be written in.
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleHttpMediaTypeNotAcceptableException(HttpMediaTypeNotAcceptableException ex) {
+        log.error("Not acceptable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
     /**
      * Handle validation exceptions.
      */
@@ -0,0 +1,92 @@
+package com.library.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.library.dto.BookResponseDTO;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes books as records of an {@link ExportFormat}.
+ */
+interface BookRecordEncoder {
+
+    /**
+     * Bytes written before the first record, if any.
+     */
+    byte[] header();
+
+    /**
+     * Encode one book as a complete record, including its line terminator.
+     */
+    byte[] encode(BookResponseDTO book);
+
+    static BookRecordEncoder forFormat(ExportFormat format, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new CsvEncoder();
+            case NDJSON -> new NdjsonEncoder(objectMapper.writerFor(BookResponseDTO.class));
+        };
+    }
+
+    /**
+     * RFC 4180 CSV with a header row.
+     */
+    final class CsvEncoder implements BookRecordEncoder {
+
+        @Override
+        public byte[] header() {
+            return "id,title,author,isbn,available,created_at,updated_at\r\n".getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] encode(BookResponseDTO book) {
+            StringBuilder line = new StringBuilder(128)
+                    .append(book.getId()).append(',')
+                    .append(escape(book.getTitle())).append(',')
+                    .append(escape(book.getAuthor())).append(',')
+                    .append(escape(book.getIsbn())).append(',')
+                    .append(book.isAvailable()).append(',')
+                    .append(book.getCreatedAt() == null ? "" : book.getCreatedAt()).append(',')
+                    .append(book.getUpdatedAt() == null ? "" : book.getUpdatedAt())
+                    .append("\r\n");
+            return line.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * Newline-delimited JSON, one book object per line.
+     */
+    final class NdjsonEncoder implements BookRecordEncoder {
+
+        private final ObjectWriter writer;
+
+        NdjsonEncoder(ObjectWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public byte[] header() {
+            return new byte[0];
+        }
+
+        @Override
+        public byte[] encode(BookResponseDTO book) {
+            try {
+                return (writer.writeValueAsString(book) + '\n').getBytes(StandardCharsets.UTF_8);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not encode book " + book.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.library.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.service.BookService;
+import com.library.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the catalog as CSV or NDJSON.
+ * Books are read through the repository cursor used by {@link BookService#streamAllBooks},
+ * encoded one at a time and written to an NIO channel through a bounded buffer, so an export
+ * of any size runs in constant heap. Every export is tracked as an {@link ExportJob}.
+ * File exports run on a bounded pool with a bounded queue, so the number of accepted exports,
+ * and of the files they write, stays within {@code max-concurrent-jobs + max-queued-jobs}.
+ */
+@Service
+@EnableConfigurationProperties(ExportProperties.class)
+@Slf4j
+public class CatalogExportService {
+
+    private static final int PROGRESS_INTERVAL = 1_000;
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+    private final ThreadPoolExecutor fileExportExecutor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Deque<String> finishedJobIds = new ConcurrentLinkedDeque<>();
+
+    public CatalogExportService(BookService bookService, ObjectMapper objectMapper, ExportProperties properties) {
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.fileExportExecutor = new ThreadPoolExecutor(properties.getMaxConcurrentJobs(),
+                properties.getMaxConcurrentJobs(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getMaxQueuedJobs()));
+    }
+
+    /**
+     * Export the catalog to a channel, blocking until the export has finished.
+     *
+     * @param format The output format
+     * @param channel The channel receiving the export; not closed by this method
+     * @param target Description of the destination, for progress reporting
+     * @return The finished job
+     */
+    public ExportJob export(ExportFormat format, WritableByteChannel channel, String target) throws IOException {
+        ExportJob job = register(new ExportJob(format, target));
+        run(job, format, channel);
+        return job;
+    }
+
+    /**
+     * Queue an export of the current branch's catalog to a new file in the export directory.
+     *
+     * @param format The output format
+     * @return The job, queued until an export slot is free
+     * @throws ExportQueueFullException if every export slot and queue place is taken
+     */
+    public ExportJob startFileExport(ExportFormat format) throws IOException {
+        Files.createDirectories(properties.getDirectory());
+        Path file = Files.createTempFile(properties.getDirectory(), "catalog-", "." + format.getFileExtension());
+        ExportJob job = register(new ExportJob(format, file.toString()));
+
+        try {
+            fileExportExecutor.execute(TenantContext.wrap(() -> {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    run(job, format, channel);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Export {} to {} failed", job.getId(), file, e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(file);
+            throw new ExportQueueFullException(properties.getMaxConcurrentJobs(), properties.getMaxQueuedJobs());
+        }
+        return job;
+    }
+
+    public Optional<ExportJob> findJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Find a job that exports the current branch's catalog.
+     */
+    public Optional<ExportJob> findBranchJob(String id) {
+        return findJob(id).filter(job -> job.getBranch().equals(TenantContext.current()));
+    }
+
+    public Collection<ExportJob> getJobs() {
+        return jobs.values();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fileExportExecutor.shutdownNow();
+    }
+
+    private void run(ExportJob job, ExportFormat format, WritableByteChannel channel) throws IOException {
+        job.start();
+        log.info("Starting {} export {}", format, job.getId());
+        BookRecordEncoder encoder = BookRecordEncoder.forFormat(format, objectMapper);
+        ChannelRecordWriter writer = new ChannelRecordWriter(channel, properties.getBufferSize());
+        long[] rows = {0};
+
+        try {
+            writer.write(encoder.header());
+            bookService.streamAllBooks(book -> {
+                try {
+                    writer.write(encoder.encode(book));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++rows[0] % PROGRESS_INTERVAL == 0) {
+                    job.recordProgress(rows[0], writer.getBytesWritten());
+                }
+            });
+            writer.flush();
+            job.recordProgress(rows[0], writer.getBytesWritten());
+            job.complete();
+            log.info("Finished export {}: {} books, {} bytes", job.getId(), rows[0], writer.getBytesWritten());
+        } catch (UncheckedIOException e) {
+            job.fail(e.getCause());
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            job.fail(e);
+            throw e;
+        } finally {
+            retire(job);
+        }
+    }
+
+    private ExportJob register(ExportJob job) {
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * Keep only the most recent finished jobs around for reporting.
+     */
+    private void retire(ExportJob job) {
+        finishedJobIds.addLast(job.getId());
+        while (finishedJobIds.size() > properties.getRetainedJobs()) {
+            String oldest = finishedJobIds.pollFirst();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.library.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes encoded records to a {@link WritableByteChannel} through a fixed-size buffer.
+ * The buffer is drained to the channel whenever the next record does not fit, so memory use is
+ * bounded by the buffer size regardless of how many records are written.
+ */
+class ChannelRecordWriter {
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long bytesWritten;
+
+    ChannelRecordWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void write(byte[] record) throws IOException {
+        if (record.length > buffer.remaining()) {
+            flush();
+        }
+        if (record.length > buffer.capacity()) {
+            // Larger than the whole buffer: hand it straight to the channel
+            drain(ByteBuffer.wrap(record));
+        } else {
+            buffer.put(record);
+        }
+        bytesWritten += record.length;
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        drain(buffer);
+        buffer.clear();
+    }
+
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void drain(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
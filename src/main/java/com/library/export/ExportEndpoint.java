@@ -0,0 +1,35 @@
+package com.library.export;
+
+import com.library.dto.ExportJobDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/exports}) reporting progress and throughput of catalog exports.
+ */
+@Component
+@Endpoint(id = "exports")
+@RequiredArgsConstructor
+public class ExportEndpoint {
+
+    private final CatalogExportService exportService;
+
+    @ReadOperation
+    public List<ExportJobDTO> exports() {
+        return exportService.getJobs().stream()
+                .map(ExportJob::toDTO)
+                .sorted(Comparator.comparing(ExportJobDTO::getCreatedAt).reversed())
+                .toList();
+    }
+
+    @ReadOperation
+    public ExportJobDTO export(@Selector String id) {
+        return exportService.findJob(id).map(ExportJob::toDTO).orElse(null);
+    }
+}
@@ -0,0 +1,41 @@
+package com.library.export;
+
+import java.util.Arrays;
+
+/**
+ * File formats supported by catalog exports.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolve a format from its name, ignoring case.
+     *
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromName(String name) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + name +
+                        ". Supported formats: " + Arrays.toString(values())));
+    }
+}
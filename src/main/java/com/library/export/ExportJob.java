@@ -0,0 +1,99 @@
+package com.library.export;
+
+import com.library.dto.ExportJobDTO;
+import com.library.tenant.TenantContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a single catalog export, updated by the exporting thread and read by status queries.
+ */
+public class ExportJob {
+
+    /**
+     * Lifecycle state of an export.
+     */
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String branch = TenantContext.current();
+    private final ExportFormat format;
+    private final String target;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    ExportJob(ExportFormat format, String target) {
+        this.format = format;
+        this.target = target;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * The library branch whose catalog is exported.
+     */
+    public String getBranch() {
+        return branch;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void recordProgress(long rows, long bytes) {
+        rowsWritten.set(rows);
+        bytesWritten.set(bytes);
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(Throwable cause) {
+        finishedAt = Instant.now();
+        error = cause.getMessage();
+        status = Status.FAILED;
+    }
+
+    /**
+     * Snapshot of the job's progress and throughput.
+     */
+    public ExportJobDTO toDTO() {
+        Instant start = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double seconds = start == null ? 0 : Math.max(Duration.between(start, end).toMillis(), 1) / 1000.0;
+        long rows = rowsWritten.get();
+        return ExportJobDTO.builder()
+                .id(id)
+                .branch(branch)
+                .format(format.name())
+                .target(target)
+                .status(status.name())
+                .rowsWritten(rows)
+                .bytesWritten(bytesWritten.get())
+                .rowsPerSecond(seconds == 0 ? 0 : Math.round(rows / seconds))
+                .createdAt(createdAt)
+                .startedAt(start)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+}
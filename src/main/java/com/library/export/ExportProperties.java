@@ -0,0 +1,39 @@
+package com.library.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for catalog exports.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.export")
+public class ExportProperties {
+
+    /**
+     * Directory receiving file exports.
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "library-exports");
+
+    /**
+     * Size of the write buffer between the record encoder and the output channel.
+     */
+    private int bufferSize = 64 * 1024;
+
+    /**
+     * Maximum number of file exports running at the same time.
+     */
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * Maximum number of file exports waiting for a free slot; further exports are rejected.
+     */
+    private int maxQueuedJobs = 8;
+
+    /**
+     * Number of finished jobs kept for progress reporting.
+     */
+    private int retainedJobs = 50;
+}
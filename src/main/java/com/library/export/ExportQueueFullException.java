@@ -0,0 +1,11 @@
+package com.library.export;
+
+/**
+ * Thrown when a file export cannot be accepted because every export slot and queue place is taken.
+ */
+public class ExportQueueFullException extends RuntimeException {
+
+    public ExportQueueFullException(int running, int queued) {
+        super("All " + running + " export slots are busy and " + queued + " exports are queued");
+    }
+}
@@ -0,0 +1,33 @@
+package com.library.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes error bodies from servlet filters, which run outside the reach of
+ * {@link com.library.exception.GlobalExceptionHandler}, in the same shape the handler produces.
+ */
+final class FilterErrorResponses {
+
+    private FilterErrorResponses() {
+    }
+
+    static void write(HttpServletResponse response, ObjectMapper objectMapper,
+                      HttpStatus status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", message);
+        body.put("status", status.value());
+        body.put("timestamp", LocalDateTime.now());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,218 @@
+package com.library.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.idempotency.IdempotencyProperties;
+import com.library.idempotency.IdempotencyStore;
+import com.library.idempotency.IdempotencyStoreFullException;
+import com.library.idempotency.StoredResponse;
+import com.library.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Makes mutating book endpoints safe to retry.
+ * The first request carrying an {@code Idempotency-Key} header executes normally and its response is recorded;
+ * later requests with the same key, method and URI get the recorded response replayed without
+ * re-executing the service method. A hash of the request body is recorded as well, and a key reused
+ * with a different body is rejected with 422 rather than silently answered with the first response.
+ * Server errors are not recorded, so those requests can be retried.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        return !properties.isEnabled()
+                || !MUTATING_METHODS.contains(request.getMethod())
+                || key == null || key.isBlank()
+                || !request.getServletPath().startsWith("/api/books");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            FilterErrorResponses.write(response, objectMapper, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] requestBody = request.getInputStream().readAllBytes();
+        String requestHash = sha256(requestBody);
+        String key = scopedKey(request, idempotencyKey);
+        Optional<StoredResponse> stored = idempotencyStore.find(key);
+        boolean reserved;
+        try {
+            reserved = stored.isEmpty() && idempotencyStore.reserve(key);
+        } catch (IdempotencyStoreFullException e) {
+            log.warn(e.getMessage());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            FilterErrorResponses.write(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many requests with an " + IDEMPOTENCY_KEY_HEADER + " are in flight, retry later");
+            return;
+        }
+        if (stored.isEmpty() && !reserved) {
+            // Lost the race: the key is in flight or was completed in the meantime
+            stored = idempotencyStore.find(key);
+            if (stored.isEmpty()) {
+                FilterErrorResponses.write(response, objectMapper, HttpStatus.CONFLICT,
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+                return;
+            }
+        }
+        if (stored.isPresent()) {
+            if (!requestHash.equals(stored.get().requestHash())) {
+                FilterErrorResponses.write(response, objectMapper, HttpStatus.UNPROCESSABLE_ENTITY,
+                        IDEMPOTENCY_KEY_HEADER + " was already used for a request with a different body");
+                return;
+            }
+            log.debug("Replaying response for idempotency key: {}", idempotencyKey);
+            replay(stored.get(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean recorded = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, requestBody), responseWrapper);
+            if (responseWrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                idempotencyStore.complete(key, new StoredResponse(responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray(), requestHash));
+                recorded = true;
+            }
+        } finally {
+            if (!recorded) {
+                idempotencyStore.release(key);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Scope the client's key to the branch, method and URI so one key cannot replay another endpoint's
+     * or branch's response. The result is hashed to a fixed length for storage.
+     */
+    private String scopedKey(HttpServletRequest request, String idempotencyKey) {
+        String scope = TenantContext.current() + ' ' + request.getMethod() + ' ' + request.getRequestURI()
+                + (request.getQueryString() != null ? '?' + request.getQueryString() : "")
+                + ' ' + idempotencyKey;
+        return sha256(scope.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /**
+     * Hands the body, already read for hashing, to the rest of the chain.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Non-blocking reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
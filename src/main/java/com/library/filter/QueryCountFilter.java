@@ -0,0 +1,90 @@
+package com.library.filter;
+
+import com.library.sql.ChunkedQueries;
+import com.library.sql.SqlMonitoringProperties;
+import com.library.sql.SqlQueryContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements executed for each API request.
+ * The count is recorded in the {@code library.sql.queries.per.request} distribution, tagged with the
+ * request method and URI pattern. Requests that repeat one statement or execute too many statements
+ * are reported as possible N+1 queries, except on {@link ChunkedQueries} handlers; with
+ * {@code library.sql.fail-on-n-plus-one} they have already failed at the offending statement.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 200)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final SqlMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlQueryContext context = SqlQueryContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlQueryContext.end();
+        }
+
+        String uri = uriPattern(request);
+        DistributionSummary.builder("library.sql.queries.per.request")
+                .description("SQL statements executed per API request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(context.getQueryCount());
+
+        checkNPlusOne(request.getMethod(), uri, context);
+    }
+
+    private void checkNPlusOne(String method, String uri, SqlQueryContext context) {
+        if (!context.isNPlusOneDetection()) {
+            return;
+        }
+        Map<String, Integer> repeated = context.repeatedStatements(properties.getRepeatedStatementThreshold());
+        boolean tooManyQueries = context.getQueryCount() > properties.getMaxQueriesPerRequest();
+        if (repeated.isEmpty() && !tooManyQueries) {
+            return;
+        }
+
+        Counter.builder("library.sql.n-plus-one")
+                .description("API requests flagged as possible N+1 queries")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Possible N+1 query in {} {}: {} statements, repeated statements {}",
+                method, uri, context.getQueryCount(), repeated);
+    }
+
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
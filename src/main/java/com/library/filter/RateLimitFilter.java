@@ -0,0 +1,127 @@
+package com.library.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.ratelimit.AdaptiveConcurrencyLimiter;
+import com.library.ratelimit.ClientRateLimiter;
+import com.library.ratelimit.RateLimitProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protects the book API from individual clients and from database overload.
+ * Each client, identified by API key or remote address, is charged against a token bucket for the
+ * endpoint's cost tier and rejected with 429 once it is empty. Admitted requests must then obtain an
+ * adaptive concurrency permit, and are shed with 503 when database latency has pushed the limit down.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String BATCH_GET_PATH = "/api/books/batch-get";
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (properties.isEnabled()) {
+            String clientKey = clientKey(request);
+            ClientRateLimiter.Tier tier = clientRateLimiter.classify(request.getMethod(), classifiedPath(request));
+            long waitNanos = clientRateLimiter.tryAcquire(clientKey, tier);
+            if (waitNanos > 0) {
+                log.debug("Rate limit exceeded for client {} on {} tier", clientKey, tier);
+                response.setHeader(HttpHeaders.RETRY_AFTER,
+                        String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+                FilterErrorResponses.write(response, objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                        "Rate limit exceeded, retry later");
+                return;
+            }
+            response.setHeader(REMAINING_HEADER, String.valueOf(clientRateLimiter.remaining(clientKey, tier)));
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            FilterErrorResponses.write(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Service is overloaded, retry later");
+            return;
+        }
+
+        boolean releaseOnReturn = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep their permit until the async write completes
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+                releaseOnReturn = false;
+            }
+        } finally {
+            if (releaseOnReturn) {
+                concurrencyLimiter.release();
+            }
+        }
+    }
+
+    /**
+     * The path a request is classified by. Lookups by ID list share the path of the full catalog read,
+     * so they are classified by the path of the equivalent {@code POST /api/books/batch-get} instead,
+     * which puts both on the batch budget.
+     */
+    private static String classifiedPath(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if ("/api/books".equals(path) && request.getParameter("ids") != null) {
+            return BATCH_GET_PATH;
+        }
+        return path;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        return apiKey != null && !apiKey.isBlank() ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private class PermitReleasingListener implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrencyLimiter.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
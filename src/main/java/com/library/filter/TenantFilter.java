@@ -0,0 +1,65 @@
+package com.library.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.tenant.TenantContext;
+import com.library.tenant.TenantProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds each API request to the library branch named in the branch header, before any other filter
+ * looks at the catalog. Requests without the header work on the default branch unless the header
+ * is required; malformed branch IDs are rejected with 400.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+@RequiredArgsConstructor
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final TenantProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(properties.getHeader());
+        String branch;
+        if (header == null || header.isBlank()) {
+            if (properties.isHeaderRequired()) {
+                FilterErrorResponses.write(response, objectMapper, HttpStatus.BAD_REQUEST,
+                        "Header " + properties.getHeader() + " is required");
+                return;
+            }
+            branch = TenantContext.DEFAULT_BRANCH;
+        } else {
+            try {
+                branch = TenantContext.normalize(header);
+            } catch (IllegalArgumentException e) {
+                FilterErrorResponses.write(response, objectMapper, HttpStatus.BAD_REQUEST, e.getMessage());
+                return;
+            }
+        }
+
+        TenantContext.set(branch);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
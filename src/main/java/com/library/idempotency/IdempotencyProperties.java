@@ -0,0 +1,40 @@
+package com.library.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for {@code Idempotency-Key} handling on mutating endpoints.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Whether Idempotency-Key headers are honoured at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Backing store for recorded responses: {@code memory} or {@code jdbc}.
+     */
+    private String store = "memory";
+
+    /**
+     * How long a recorded response is replayed for the same key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a key stays reserved by a request that has not completed; must exceed the longest request.
+     * Only the jdbc store needs it, so a key reserved by an instance that died mid-request is freed again.
+     */
+    private Duration reservationTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound on keys held by the in-memory store; the oldest completed keys are evicted first.
+     */
+    private int maxEntries = 10_000;
+}
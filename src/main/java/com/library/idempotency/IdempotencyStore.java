@@ -0,0 +1,48 @@
+package com.library.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Store of responses keyed by idempotency key.
+ * A key is first reserved while its request executes and then completed with the response,
+ * or released again if the request failed and may safely be retried.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Find the completed response recorded for a key.
+     *
+     * @param key The idempotency key
+     * @return The recorded response, or empty if the key is unknown, expired or still in flight
+     */
+    Optional<StoredResponse> find(String key);
+
+    /**
+     * Reserve a key for a request that is about to execute.
+     *
+     * @param key The idempotency key
+     * @return true if the key was reserved, false if it is already in flight or completed
+     * @throws IdempotencyStoreFullException if the store has no room left for another key
+     */
+    boolean reserve(String key);
+
+    /**
+     * Record the response of a reserved key.
+     *
+     * @param key The idempotency key
+     * @param response The response to replay for later requests with the same key
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Release a reserved key without recording a response.
+     *
+     * @param key The idempotency key
+     */
+    void release(String key);
+
+    /**
+     * Remove all expired keys.
+     */
+    void purgeExpired();
+}
@@ -0,0 +1,11 @@
+package com.library.idempotency;
+
+/**
+ * Thrown when a key cannot be reserved because the store is full of requests still in flight.
+ */
+public class IdempotencyStoreFullException extends RuntimeException {
+
+    public IdempotencyStoreFullException(int capacity) {
+        super("All " + capacity + " idempotency keys are held by requests in flight");
+    }
+}
@@ -0,0 +1,113 @@
+package com.library.idempotency;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory {@link IdempotencyStore}.
+ * Keys expire after the configured TTL, and once the store is full the oldest completed key is evicted.
+ * Reservations of requests still in flight are never evicted; if they alone fill the store,
+ * new reservations are refused.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    // Insertion order, so iteration visits the oldest keys first
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Optional<StoredResponse> find(String key) {
+        Entry entry = liveEntry(key);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.response());
+    }
+
+    @Override
+    public synchronized boolean reserve(String key) {
+        if (liveEntry(key) != null) {
+            return false;
+        }
+        makeRoom();
+        if (entries.size() >= maxEntries) {
+            throw new IdempotencyStoreFullException(maxEntries);
+        }
+        entries.put(key, new Entry(null, clock.instant().plus(ttl)));
+        return true;
+    }
+
+    @Override
+    public synchronized void complete(String key, StoredResponse response) {
+        if (!entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry(response, clock.instant().plus(ttl)));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${library.idempotency.purge-interval:PT1M}")
+    public synchronized void purgeExpired() {
+        Instant now = clock.instant();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * Number of keys currently held, including in-flight reservations.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Free a slot for a new key if the store is full: drop expired keys, then the oldest completed ones.
+     */
+    private void makeRoom() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        purgeExpired();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            if (iterator.next().response() != null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private Entry liveEntry(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * A reservation (response is null) or a completed response, with its expiry.
+     */
+    private record Entry(StoredResponse response, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
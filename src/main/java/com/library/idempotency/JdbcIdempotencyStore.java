@@ -0,0 +1,80 @@
+package com.library.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} backed by the {@code idempotency_keys} table,
+ * so recorded responses survive restarts and are shared by every instance using the same database.
+ * A reservation expires after the reservation timeout rather than the TTL, so a key whose request never
+ * completed, e.g. because its instance was killed, can be used again; completing it extends it to the TTL.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration reservationTimeout;
+    private final Clock clock;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration reservationTimeout, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.reservationTimeout = reservationTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        List<StoredResponse> responses = jdbcTemplate.query(
+                "SELECT status, content_type, body, request_hash FROM idempotency_keys " +
+                "WHERE idempotency_key = ? AND status IS NOT NULL AND expires_at > ?",
+                (rs, rowNum) -> new StoredResponse(rs.getInt("status"), rs.getString("content_type"),
+                        rs.getBytes("body"), rs.getString("request_hash")),
+                key, now());
+        return responses.stream().findFirst();
+    }
+
+    @Override
+    public boolean reserve(String key) {
+        // Drop an expired row first so the key can be reused
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at <= ?", key, now());
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, expires_at) VALUES (?, ?)",
+                    key, Timestamp.from(clock.instant().plus(reservationTimeout)));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update(
+                "UPDATE idempotency_keys SET status = ?, content_type = ?, body = ?, request_hash = ?, expires_at = ? " +
+                "WHERE idempotency_key = ?",
+                response.status(), response.contentType(), response.body(), response.requestHash(),
+                Timestamp.from(clock.instant().plus(ttl)), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", key);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${library.idempotency.purge-interval:PT1M}")
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?", now());
+    }
+
+    private Timestamp now() {
+        return Timestamp.from(clock.instant());
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.idempotency;
+
+/**
+ * A response recorded for an idempotency key, replayed verbatim on retries.
+ *
+ * @param status      The HTTP status code
+ * @param contentType The response content type, may be null
+ * @param body        The raw response body
+ * @param requestHash Hash of the body of the request that produced the response; retries must send the same body
+ */
+public record StoredResponse(int status, String contentType, byte[] body, String requestHash) {
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,9 +14,18 @@ import java.time.LocalDateTime;
 /**
  * Entity representing a book in the library system.
  * This is the core domain object that maps to the database table.
+ * Books belong to a library branch; titles and ISBNs are unique within a branch.
  */
 @Entity
-@Table(name = "books")
+@Table(name = "books",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_books_branch_title_key", columnNames = {"branch_id", "title_key"}),
+                @UniqueConstraint(name = "uk_books_branch_isbn", columnNames = {"branch_id", "isbn"})
+        },
+        indexes = {
+                @Index(name = "idx_books_branch_id", columnList = "branch_id, id"),
+                @Index(name = "idx_books_branch_author", columnList = "branch_id, author")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -26,12 +36,21 @@ public class Book {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
+    /** Set from the session's branch on insert; every query on books is restricted to it. */
+    @TenantId
+    @Column(name = "branch_id", nullable = false, updatable = false, length = 64)
+    private String branchId;
+    
+    @Column(nullable = false)
     private String title;
     
+    /** Case-folded title, unique per branch; see {@link BookKeys#titleKey(String)}. */
+    @Column(name = "title_key", nullable = false, length = 1024)
+    private String titleKey;
+    
     private String author;
     
-    @Column(unique = true)
+    /** Canonical ISBN-13, unique per branch; see {@link BookKeys#isbn(String)}. */
     private String isbn;
     
     @Column(nullable = false)
@@ -44,4 +63,11 @@ public class Book {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+    
+    @PrePersist
+    @PreUpdate
+    void normalizeKeys() {
+        titleKey = BookKeys.titleKey(title);
+        isbn = BookKeys.isbn(isbn);
+    }
+}
@@ -0,0 +1,70 @@
+package com.library.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized lookup keys for books.
+ * Titles and ISBNs are matched through these keys, which are stored next to the original values
+ * and indexed, so lookups are case-insensitive and format-tolerant without functions in queries.
+ */
+public final class BookKeys {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern ISBN_SEPARATORS = Pattern.compile("[\\s-]+");
+    private static final Pattern ISBN_10 = Pattern.compile("\\d{9}[\\dX]");
+
+    private BookKeys() {
+    }
+
+    /**
+     * The key a title is matched by: NFKC-normalized, trimmed, with runs of whitespace collapsed
+     * to one space and lower-cased, so "The  Great Gatsby " and "the great gatsby" are the same book.
+     *
+     * @param title The title, may be null
+     * @return The title key, or null for a null title
+     */
+    public static String titleKey(String title) {
+        if (title == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFKC).strip();
+        return WHITESPACE.matcher(normalized).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The canonical form of an ISBN: hyphens and spaces removed, and ISBN-10 converted to ISBN-13.
+     * Values that are not ISBN-10 are kept as they are apart from the separators, so malformed
+     * input still compares consistently.
+     *
+     * @param isbn The ISBN as entered, may be null
+     * @return The canonical ISBN, or null for a null or blank ISBN
+     */
+    public static String isbn(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        String compact = ISBN_SEPARATORS.matcher(isbn).replaceAll("").toUpperCase(Locale.ROOT);
+        if (compact.isEmpty()) {
+            return null;
+        }
+        if (ISBN_10.matcher(compact).matches()) {
+            String twelveDigits = "978" + compact.substring(0, 9);
+            return twelveDigits + isbn13CheckDigit(twelveDigits);
+        }
+        return compact;
+    }
+
+    /**
+     * Compute the ISBN-13 check digit for the first twelve digits.
+     */
+    public static int isbn13CheckDigit(String twelveDigits) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = twelveDigits.charAt(i) - '0';
+            sum += i % 2 == 0 ? digit : digit * 3;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
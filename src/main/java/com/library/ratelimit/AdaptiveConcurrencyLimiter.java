@@ -0,0 +1,140 @@
+package com.library.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that adapts to database latency (AIMD).
+ * The limit grows by one while the service is busy and latency stays close to its baseline,
+ * and shrinks multiplicatively once the smoothed latency exceeds the baseline by the configured
+ * tolerance. Requests beyond the limit are shed instead of queueing behind a slow database.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.1;
+    private static final double BASELINE_DRIFT = 0.001;
+    private static final double DECREASE_FACTOR = 0.9;
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final RateLimitProperties.Concurrency properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter shedCounter;
+    private final AtomicInteger limit;
+
+    // Latencies are doubles stored as their raw long bits, so samples from concurrent
+    // repository calls are folded in with compare-and-set instead of a shared lock
+    private final AtomicLong smoothedLatencyBits = new AtomicLong();
+    private final AtomicLong baselineLatencyBits = new AtomicLong();
+    private final AtomicLong lastDecreaseNanos = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getConcurrency();
+        this.limit = new AtomicInteger(this.properties.getInitialLimit());
+        this.shedCounter = Counter.builder("library.concurrency.shed")
+                .description("Requests shed because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("library.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("library.concurrency.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("library.db.latency.smoothed", this, limiter -> limiter.getSmoothedLatencyMillis())
+                .description("Smoothed database call latency in milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Try to take a permit for one request.
+     *
+     * @return true if the request may proceed; it must then call {@link #release()}
+     */
+    public boolean tryAcquire() {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                shedCounter.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        if (properties.isEnabled()) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Feed one database call latency sample into the limit. Safe to call concurrently without locking.
+     */
+    public void recordLatency(long latencyNanos) {
+        double smoothed = Double.longBitsToDouble(smoothedLatencyBits.updateAndGet(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            return Double.doubleToRawLongBits(current == 0 ? latencyNanos
+                    : current + (latencyNanos - current) * SMOOTHING);
+        }));
+        // The baseline follows improvements immediately and degradations slowly,
+        // so a permanently slower database is eventually accepted as the new normal
+        double baseline = Double.longBitsToDouble(baselineLatencyBits.updateAndGet(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            return Double.doubleToRawLongBits(current == 0 || smoothed < current ? smoothed
+                    : current + (smoothed - current) * BASELINE_DRIFT);
+        }));
+
+        if (smoothed > baseline * properties.getLatencyTolerance()) {
+            long now = System.nanoTime();
+            long lastDecrease = lastDecreaseNanos.get();
+            // Only the caller that claims the cooldown slot reduces the limit
+            if (now - lastDecrease >= DECREASE_COOLDOWN_NANOS && lastDecreaseNanos.compareAndSet(lastDecrease, now)) {
+                int previous = limit.getAndUpdate(this::decreased);
+                int reduced = decreased(previous);
+                if (reduced != previous) {
+                    log.warn("Database latency {} ms above baseline {} ms, reducing concurrency limit to {}",
+                            String.format("%.1f", smoothed / 1e6), String.format("%.1f", baseline / 1e6), reduced);
+                }
+            }
+        } else if (inFlight.get() * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(properties.getMaxLimit(), current + 1));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getShedCount() {
+        return (long) shedCounter.count();
+    }
+
+    public double getSmoothedLatencyMillis() {
+        return Double.longBitsToDouble(smoothedLatencyBits.get()) / 1e6;
+    }
+
+    public double getBaselineLatencyMillis() {
+        return Double.longBitsToDouble(baselineLatencyBits.get()) / 1e6;
+    }
+
+    private int decreased(int currentLimit) {
+        return Math.max(properties.getMinLimit(), (int) (currentLimit * DECREASE_FACTOR));
+    }
+}
@@ -0,0 +1,149 @@
+package com.library.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client token buckets, with separate budgets for cheap, batch and expensive endpoints.
+ * Buckets are created on first use and dropped again once they have fully refilled,
+ * so memory is proportional to the number of recently active clients.
+ */
+@Component
+public class ClientRateLimiter {
+
+    /**
+     * Cost class of an endpoint.
+     */
+    public enum Tier {
+        CHEAP, BATCH, EXPENSIVE
+    }
+
+    private final RateLimitProperties properties;
+    private final List<EndpointPattern> expensiveEndpoints;
+    private final List<EndpointPattern> batchEndpoints;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<Tier, ConcurrentHashMap<String, TokenBucket>> buckets = new EnumMap<>(Tier.class);
+    private final Map<Tier, Counter> rejections = new EnumMap<>(Tier.class);
+
+    public ClientRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.expensiveEndpoints = properties.getExpensiveEndpoints().stream()
+                .map(EndpointPattern::parse)
+                .toList();
+        this.batchEndpoints = properties.getBatchEndpoints().stream()
+                .map(EndpointPattern::parse)
+                .toList();
+
+        for (Tier tier : Tier.values()) {
+            ConcurrentHashMap<String, TokenBucket> tierBuckets = new ConcurrentHashMap<>();
+            buckets.put(tier, tierBuckets);
+            rejections.put(tier, Counter.builder("library.ratelimit.rejected")
+                    .description("Requests rejected because the client exhausted its budget")
+                    .tag("tier", tier.name().toLowerCase())
+                    .register(meterRegistry));
+            Gauge.builder("library.ratelimit.clients", tierBuckets, Map::size)
+                    .description("Clients with rate limiting state")
+                    .tag("tier", tier.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Determine which budget a request is charged against.
+     */
+    public Tier classify(String method, String path) {
+        if (matchesAny(expensiveEndpoints, method, path)) {
+            return Tier.EXPENSIVE;
+        }
+        if (matchesAny(batchEndpoints, method, path)) {
+            return Tier.BATCH;
+        }
+        return Tier.CHEAP;
+    }
+
+    /**
+     * Try to admit one request for a client.
+     *
+     * @param clientKey The API key or address identifying the client
+     * @param tier The budget to charge
+     * @return 0 if the request is admitted, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(String clientKey, Tier tier) {
+        long now = System.nanoTime();
+        long waitNanos = bucket(clientKey, tier, now).tryAcquire(now);
+        if (waitNanos > 0) {
+            rejections.get(tier).increment();
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Number of requests the client may still issue immediately.
+     */
+    public long remaining(String clientKey, Tier tier) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(tier).get(clientKey);
+        return bucket == null ? budget(tier).getCapacity() : bucket.remaining(now);
+    }
+
+    public RateLimitProperties.Budget budget(Tier tier) {
+        return switch (tier) {
+            case CHEAP -> properties.getCheap();
+            case BATCH -> properties.getBatch();
+            case EXPENSIVE -> properties.getExpensive();
+        };
+    }
+
+    public int trackedClients(Tier tier) {
+        return buckets.get(tier).size();
+    }
+
+    public long rejectedCount(Tier tier) {
+        return (long) rejections.get(tier).count();
+    }
+
+    /**
+     * Drop buckets that have fully refilled; a fresh bucket behaves identically.
+     */
+    @Scheduled(fixedDelayString = "${library.rate-limit.sweep-interval:PT1M}")
+    public void evictIdleClients() {
+        long now = System.nanoTime();
+        buckets.values().forEach(tierBuckets -> tierBuckets.values().removeIf(bucket -> bucket.isFull(now)));
+    }
+
+    private boolean matchesAny(List<EndpointPattern> endpoints, String method, String path) {
+        return endpoints.stream().anyMatch(endpoint -> endpoint.matches(method, path, pathMatcher));
+    }
+
+    private TokenBucket bucket(String clientKey, Tier tier, long now) {
+        return buckets.get(tier).computeIfAbsent(clientKey, key -> {
+            RateLimitProperties.Budget budget = budget(tier);
+            return new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), now);
+        });
+    }
+
+    private record EndpointPattern(String method, String pathPattern) {
+
+        static EndpointPattern parse(String endpoint) {
+            String[] parts = endpoint.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected 'METHOD /path' but got: " + endpoint);
+            }
+            return new EndpointPattern(parts[0].toUpperCase(), parts[1]);
+        }
+
+        boolean matches(String requestMethod, String path, AntPathMatcher pathMatcher) {
+            return ("*".equals(method) || method.equalsIgnoreCase(requestMethod))
+                    && pathMatcher.match(pathPattern, path);
+        }
+    }
+}
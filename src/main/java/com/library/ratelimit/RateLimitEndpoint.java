@@ -0,0 +1,46 @@
+package com.library.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/ratelimits}) reporting rate limiting and load shedding state.
+ */
+@Component
+@Endpoint(id = "ratelimits")
+@RequiredArgsConstructor
+public class RateLimitEndpoint {
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @ReadOperation
+    public Map<String, Object> rateLimits() {
+        Map<String, Object> tiers = new LinkedHashMap<>();
+        for (ClientRateLimiter.Tier tier : ClientRateLimiter.Tier.values()) {
+            RateLimitProperties.Budget budget = clientRateLimiter.budget(tier);
+            tiers.put(tier.name().toLowerCase(), Map.of(
+                    "capacity", budget.getCapacity(),
+                    "refillPerSecond", budget.getRefillPerSecond(),
+                    "trackedClients", clientRateLimiter.trackedClients(tier),
+                    "rejected", clientRateLimiter.rejectedCount(tier)));
+        }
+
+        Map<String, Object> concurrency = new LinkedHashMap<>();
+        concurrency.put("limit", concurrencyLimiter.getLimit());
+        concurrency.put("inFlight", concurrencyLimiter.getInFlight());
+        concurrency.put("shed", concurrencyLimiter.getShedCount());
+        concurrency.put("dbLatencyMillis", concurrencyLimiter.getSmoothedLatencyMillis());
+        concurrency.put("dbBaselineLatencyMillis", concurrencyLimiter.getBaselineLatencyMillis());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("tiers", tiers);
+        result.put("concurrency", concurrency);
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package com.library.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for per-client rate limiting and adaptive load shedding.
+ * Validated at startup, so a zero refill rate or limit fails fast instead of breaking the limiters.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "library.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether per-client rate limiting is applied.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Header identifying the client; requests without it are keyed by remote address.
+     */
+    private String apiKeyHeader = "X-API-Key";
+
+    /**
+     * Budget for cheap endpoints such as single-book lookups.
+     */
+    @Valid
+    @NotNull
+    private Budget cheap = new Budget(100, 50);
+
+    /**
+     * Budget for lookups of many books by ID, each of which may read up to the batch-get limit of books.
+     */
+    @Valid
+    @NotNull
+    private Budget batch = new Budget(10, 2);
+
+    /**
+     * Budget for expensive endpoints such as full catalog scans.
+     */
+    @Valid
+    @NotNull
+    private Budget expensive = new Budget(5, 1);
+
+    /**
+     * Endpoints charged against the expensive budget, as {@code METHOD /path/pattern};
+     * {@code *} matches any method.
+     */
+    private List<String> expensiveEndpoints = new ArrayList<>(List.of(
+            "GET /api/books", "* /api/books/bulk", "* /api/books/export/**"));
+
+    /**
+     * Endpoints charged against the batch budget, in the same form as {@code expensiveEndpoints}.
+     * Lookups by ID list ({@code GET /api/books?ids=}) are matched as {@code GET /api/books/batch-get}.
+     */
+    private List<String> batchEndpoints = new ArrayList<>(List.of("* /api/books/batch-get"));
+
+    /**
+     * How often per-client state of clients that have fully refilled is dropped.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Adaptive concurrency limiting driven by database latency.
+     */
+    @Valid
+    @NotNull
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Budget {
+
+        /**
+         * Maximum burst of requests a client may issue at once.
+         */
+        @Positive
+        private int capacity;
+
+        /**
+         * Sustained requests per second a client may issue.
+         */
+        @Positive
+        private double refillPerSecond;
+
+        public Budget() {
+        }
+
+        public Budget(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    @Data
+    public static class Concurrency {
+
+        /**
+         * Whether requests are shed once the adaptive concurrency limit is reached.
+         */
+        private boolean enabled = true;
+
+        @Positive
+        private int initialLimit = 50;
+
+        @Positive
+        private int minLimit = 5;
+
+        @Positive
+        private int maxLimit = 200;
+
+        /**
+         * Ratio of current to baseline database latency above which the limit is reduced.
+         */
+        @DecimalMin("1.0")
+        private double latencyTolerance = 2.0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.library.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every repository call and feeds the latency into the {@link AdaptiveConcurrencyLimiter}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryLatencyAspect {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Around("this(com.library.repository.BookRepository)")
+    public Object recordLatency(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            concurrencyLimiter.recordLatency(System.nanoTime() - start);
+        }
+    }
+}
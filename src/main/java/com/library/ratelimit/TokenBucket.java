@@ -0,0 +1,62 @@
+package com.library.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * The bucket is kept in its GCRA form: a single "theoretical arrival time" that is advanced by one
+ * emission interval per admitted request and updated with compare-and-set, so concurrent requests
+ * from the same client never block each other.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * @param capacity        Maximum number of requests admitted in a burst
+     * @param refillPerSecond Sustained number of requests admitted per second
+     * @param nowNanos        Current time, in nanoseconds
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token.
+     *
+     * @param nowNanos Current time, in nanoseconds
+     * @return 0 if the request is admitted, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Number of tokens currently left in the bucket.
+     */
+    public long remaining(long nowNanos) {
+        long backlog = Math.max(theoreticalArrivalTime.get() - nowNanos, 0);
+        return (burstToleranceNanos - backlog) / emissionIntervalNanos;
+    }
+
+    /**
+     * Whether the bucket has refilled completely, so dropping it loses no state.
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+}
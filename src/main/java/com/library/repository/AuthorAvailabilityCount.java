@@ -0,0 +1,13 @@
+package com.library.repository;
+
+/**
+ * Projection of the number of books per author and availability.
+ */
+public interface AuthorAvailabilityCount {
+
+    String getAuthor();
+
+    boolean isAvailable();
+
+    long getBookCount();
+}
@@ -0,0 +1,13 @@
+package com.library.repository;
+
+/**
+ * Projection of the number of books per branch and author.
+ */
+public interface AuthorBookCount {
+
+    String getBranchId();
+
+    String getAuthor();
+
+    long getBookCount();
+}
@@ -0,0 +1,32 @@
+package com.library.repository;
+
+import java.util.List;
+
+/**
+ * Queries selecting books by optional criteria.
+ * Each query is built from only the criteria that are set, instead of one statement with
+ * {@code (:param is null or ...)} predicates, so the database can use the index matching the criteria.
+ */
+public interface BookFilterRepository {
+
+    /**
+     * Find the IDs of books matching a filter, as one keyset page in ID order.
+     * Null criteria match every book.
+     *
+     * @param author The author to match, or null
+     * @param available The availability to match, or null
+     * @param afterId Only IDs greater than this are returned
+     * @param limit Maximum number of IDs returned
+     * @return Matching IDs in ascending order
+     */
+    List<Long> findIdsByFilter(String author, Boolean available, long afterId, int limit);
+
+    /**
+     * Count the books matching a filter. Null criteria match every book.
+     *
+     * @param author The author to match, or null
+     * @param available The availability to match, or null
+     * @return The number of matching books
+     */
+    long countByFilter(String author, Boolean available);
+}
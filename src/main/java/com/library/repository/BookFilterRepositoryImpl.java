@@ -0,0 +1,59 @@
+package com.library.repository;
+
+import com.library.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link BookFilterRepository}, picked up by Spring Data for {@link BookRepository}.
+ */
+@RequiredArgsConstructor
+class BookFilterRepositoryImpl implements BookFilterRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsByFilter(String author, Boolean available, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> book = query.from(Book.class);
+
+        List<Predicate> predicates = filter(cb, book, author, available);
+        predicates.add(cb.greaterThan(book.get("id"), afterId));
+        query.select(book.get("id"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(book.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countByFilter(String author, Boolean available) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> book = query.from(Book.class);
+
+        query.select(cb.count(book))
+                .where(filter(cb, book, author, available).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Predicate> filter(CriteriaBuilder cb, Root<Book> book, String author, Boolean available) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (author != null) {
+            predicates.add(cb.equal(book.get("author"), author));
+        }
+        if (available != null) {
+            predicates.add(cb.equal(book.get("available"), available));
+        }
+        return predicates;
+    }
+}
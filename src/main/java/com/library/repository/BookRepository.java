@@ -1,38 +1,62 @@
 package com.library.repository;
 
 import com.library.model.Book;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Book entity.
- * Provides methods to interact with the database.
+ * Provides methods to interact with the database; filter queries are in {@link BookFilterRepository}.
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookFilterRepository {
     
     /**
-     * Find a book by its title.
+     * Find a book of the current branch by its ID.
+     * Declared as a query because Hibernate restricts queries to the session's branch,
+     * but not loads by primary key.
      * 
-     * @param title The title of the book to find
+     * @param id The book ID
+     * @return Optional containing the book if found in the current branch, empty otherwise
+     */
+    @Override
+    @Query("select b from Book b where b.id = :id")
+    Optional<Book> findById(@Param("id") Long id);
+    
+    /**
+     * Find a book by its normalized title.
+     * 
+     * @param titleKey The title key, see {@link com.library.model.BookKeys#titleKey(String)}
      * @return Optional containing the book if found, empty otherwise
      */
-    Optional<Book> findByTitle(String title);
+    Optional<Book> findByTitleKey(String titleKey);
     
     /**
-     * Check if a book with the given title exists.
+     * Check if a book with the given normalized title exists.
      * 
-     * @param title The title to check
+     * @param titleKey The title key, see {@link com.library.model.BookKeys#titleKey(String)}
      * @return true if the book exists, false otherwise
      */
-    boolean existsByTitle(String title);
+    boolean existsByTitleKey(String titleKey);
     
     /**
      * Find a book by its ISBN.
      * 
-     * @param isbn The ISBN to search for
+     * @param isbn The canonical ISBN, see {@link com.library.model.BookKeys#isbn(String)}
      * @return Optional containing the book if found, empty otherwise
      */
     Optional<Book> findByIsbn(String isbn);
@@ -40,8 +64,99 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     /**
      * Check if a book with the given ISBN exists.
      * 
-     * @param isbn The ISBN to check
+     * @param isbn The canonical ISBN, see {@link com.library.model.BookKeys#isbn(String)}
      * @return true if the book exists, false otherwise
      */
     boolean existsByIsbn(String isbn);
-}
\ No newline at end of file
+    
+    /**
+     * Stream all books through a server-side cursor instead of materializing the full result list.
+     * Must be consumed inside a transaction and closed afterwards; callers are responsible for
+     * detaching the returned entities to keep the persistence context from growing.
+     * 
+     * @return Stream over all books, ordered by ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Book b order by b.id")
+    Stream<Book> streamAllBy();
+    
+    /**
+     * Find which of the given IDs exist, without loading the entities.
+     * 
+     * @param ids The IDs to check
+     * @return The subset of IDs that exist
+     */
+    @Query("select b.id from Book b where b.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Lock those of the given books that have the given availability, so that an update in the same
+     * transaction changes exactly the returned books.
+     * 
+     * @param ids The IDs to check
+     * @param available The availability to select
+     * @return The subset of IDs with that availability
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id from Book b where b.id in :ids and b.available = :available")
+    List<Long> lockIdsByAvailability(@Param("ids") Collection<Long> ids, @Param("available") boolean available);
+    
+    /**
+     * Set the availability of the given books in a single statement.
+     * Books that already have the requested availability are left untouched.
+     * 
+     * @param ids The IDs of the books to update
+     * @param available The new availability
+     * @param updatedAt The modification timestamp to record
+     * @return The number of books whose availability changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.available = :available, b.updatedAt = :updatedAt " +
+           "where b.id in :ids and b.available <> :available")
+    int updateAvailabilityByIds(@Param("ids") Collection<Long> ids, @Param("available") boolean available,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Delete the given books in a single statement.
+     * 
+     * @param ids The IDs of the books to delete
+     * @return The number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Book b where b.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Count the books of every branch, across all branches.
+     * Native, so that it is not restricted to the session's branch.
+     * 
+     * @return One entry per branch that has at least one book
+     */
+    @Query(value = "select branch_id as branchId, count(*) as bookCount, " +
+                   "sum(case when available then 1 else 0 end) as availableCount " +
+                   "from books group by branch_id", nativeQuery = true)
+    List<BranchBookCount> countBooksByBranch();
+    
+    /**
+     * Count the books of every author that has at least one book, per branch, across all branches.
+     * Native, so that it is not restricted to the session's branch.
+     * 
+     * @return One entry per branch and author
+     */
+    @Query(value = "select branch_id as branchId, author, count(*) as bookCount from books " +
+                   "where author is not null group by branch_id, author", nativeQuery = true)
+    List<AuthorBookCount> countBooksByAuthor();
+    
+    /**
+     * Count the given books per author and availability.
+     * 
+     * @param ids The IDs of the books to count
+     * @return One entry per author and availability present among the books
+     */
+    @Query("select b.author as author, b.available as available, count(b) as bookCount from Book b " +
+           "where b.id in :ids group by b.author, b.available")
+    List<AuthorAvailabilityCount> countByAuthorAndAvailability(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,86 @@
+package com.library.repository;
+
+import com.library.model.BookKeys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Upgrades a {@code books} table created by an earlier schema.sql, which only creates missing tables.
+ * schema.sql adds the missing columns; this completes the steps SQL cannot express portably:
+ * <ul>
+ *     <li>Title keys are backfilled with {@link BookKeys#titleKey(String)}, as databases have no NFKC
+ *     normalization, and the column is then made NOT NULL.</li>
+ *     <li>The former table-wide unique constraints on the title and the ISBN are dropped, as the per-branch
+ *     indexes replace them. Their names were generated by the database, so they are looked up by column.</li>
+ * </ul>
+ * Runs after schema.sql and before requests are served. Each step finds nothing to do on an up-to-date table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSchemaMigration {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String SELECT_MISSING_TITLE_KEYS =
+            "SELECT id, title FROM books WHERE title_key IS NULL ORDER BY id LIMIT " + BATCH_SIZE;
+
+    private static final String SELECT_TITLE_KEY_NULLABLE =
+            "SELECT is_nullable FROM information_schema.columns " +
+            "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(table_name) = 'books' " +
+            "AND LOWER(column_name) = 'title_key'";
+
+    /** Unique constraints on books covering a single one of the listed columns. */
+    private static final String SELECT_LEGACY_UNIQUE_CONSTRAINTS =
+            "SELECT tc.constraint_name FROM information_schema.table_constraints tc " +
+            "JOIN information_schema.key_column_usage kcu " +
+            "ON kcu.constraint_schema = tc.constraint_schema AND kcu.constraint_name = tc.constraint_name " +
+            "WHERE tc.constraint_type = 'UNIQUE' AND LOWER(tc.table_schema) = LOWER(CURRENT_SCHEMA) " +
+            "AND LOWER(tc.table_name) = 'books' " +
+            "GROUP BY tc.constraint_name " +
+            "HAVING COUNT(*) = 1 AND MAX(LOWER(kcu.column_name)) IN ('title', 'isbn')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        backfillTitleKeys();
+        dropLegacyUniqueConstraints();
+    }
+
+    private void backfillTitleKeys() {
+        long backfilled = 0;
+        List<Object[]> batch;
+        do {
+            batch = jdbcTemplate.query(SELECT_MISSING_TITLE_KEYS,
+                    (rs, rowNum) -> new Object[]{BookKeys.titleKey(rs.getString("title")), rs.getLong("id")});
+            try {
+                jdbcTemplate.batchUpdate("UPDATE books SET title_key = ? WHERE id = ?", batch);
+            } catch (DuplicateKeyException e) {
+                throw new IllegalStateException("Books of one branch have titles differing only in case or "
+                        + "spacing; rename them so their title keys are unique, then restart", e);
+            }
+            backfilled += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+
+        if (backfilled > 0) {
+            log.info("Backfilled title keys of {} books", backfilled);
+        }
+        if ("YES".equalsIgnoreCase(jdbcTemplate.queryForObject(SELECT_TITLE_KEY_NULLABLE, String.class))) {
+            jdbcTemplate.execute("ALTER TABLE books ALTER COLUMN title_key SET NOT NULL");
+        }
+    }
+
+    private void dropLegacyUniqueConstraints() {
+        for (String constraint : jdbcTemplate.queryForList(SELECT_LEGACY_UNIQUE_CONSTRAINTS, String.class)) {
+            jdbcTemplate.execute("ALTER TABLE books DROP CONSTRAINT \"" + constraint + "\"");
+            log.info("Dropped table-wide unique constraint {} on books, replaced by a per-branch index", constraint);
+        }
+    }
+}
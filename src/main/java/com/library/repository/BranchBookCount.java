@@ -0,0 +1,13 @@
+package com.library.repository;
+
+/**
+ * Projection of the number of books and available books per branch.
+ */
+public interface BranchBookCount {
+
+    String getBranchId();
+
+    long getBookCount();
+
+    long getAvailableCount();
+}
@@ -0,0 +1,176 @@
+package com.library.seed;
+
+import com.library.model.BookKeys;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates synthetic books at scale.
+ * <ul>
+ *     <li>Titles are unique: the book index is mapped one-to-one onto combinations of four word lists,
+ *     so catalogs of up to about two million books get as many distinct titles. Only larger catalogs
+ *     repeat them with a volume number.</li>
+ *     <li>Authors follow a Zipf distribution, so a few authors write many books and most write few.</li>
+ *     <li>ISBNs are unique, valid ISBN-13s in the 978 prefix.</li>
+ * </ul>
+ * A book's title and ISBN depend only on its index; author and availability come from a seeded random
+ * generator, so the same settings always produce the same catalog.
+ */
+public class CatalogGenerator {
+
+    private static final String[] OPENINGS = {
+            "The", "Return to the", "Beyond the", "Letters from the", "A Song for the", "Under the", "After the",
+            "Before the", "Notes on the", "Leaving the", "Dreams of the", "In Search of the", "Ballad of the",
+            "Guardians of the", "Secrets of the", "Children of the", "Echoes of the", "Keeper of the", "Fall of the",
+            "Rise of the", "Memories of the", "A Map of the", "Night at the", "Beneath the"};
+
+    private static final String[] ADJECTIVES = {
+            "Silent", "Hidden", "Broken", "Golden", "Last", "Forgotten", "Crimson", "Distant", "Burning", "Frozen",
+            "Secret", "Endless", "Wild", "Lost", "Quiet", "Shattered", "Eternal", "Wandering", "Bitter", "Radiant",
+            "Hollow", "Ancient", "Restless", "Gentle", "Iron", "Silver", "Midnight", "Scarlet", "Sleeping", "Painted",
+            "Weeping", "Amber", "Velvet", "Northern", "Drowned", "Luminous", "Crooked", "Sacred", "Faded", "Obsidian"};
+
+    private static final String[] NOUNS = {
+            "River", "Garden", "Kingdom", "Mirror", "Island", "Library", "Harbor", "Forest", "Tower", "Letter",
+            "Journey", "Orchard", "Lantern", "Voyage", "Promise", "Cathedral", "Winter", "Shadow", "Compass", "Machine",
+            "Daughter", "Stranger", "Empire", "Frontier", "Melody", "Archive", "Covenant", "Horizon", "Witness", "Bridge",
+            "Storm", "Crown", "Door", "Map", "Road", "Sea", "Clock", "Flame", "Song", "Field",
+            "Castle", "Lighthouse", "Market", "Chapel", "Well", "Meadow", "Citadel", "Observatory", "Vineyard", "Mill"};
+
+    private static final String[] PLACES = {
+            "Avalon", "the North", "the Deep", "Samarkand", "the Valley", "Glass", "Stone", "the Lost Coast",
+            "Ember Hill", "the Old Quarter", "Ashford", "the Salt Flats", "Marrow Bay", "the High Desert", "Kestrel Point",
+            "the Twelve Rivers", "Blackwater", "the Southern Sky", "Lindenholm", "the Sunken City", "Thornfield",
+            "the Eastern March", "Port Aurelia", "the Long Night", "Wrenfield", "Cold Harbour", "the Iron Hills",
+            "Vallombrosa", "the Drowned Isles", "Hollowmere", "the Amber Coast", "Saint Verity", "the Nine Winds",
+            "Greywater", "the Outer Rim", "Caer Lindis", "the Painted Desert", "Orison", "the White Fens",
+            "Mirefield"};
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Amara", "Benedict", "Camille", "Dmitri", "Elena", "Farah", "Gideon", "Hana", "Ibrahim",
+            "Isla", "Jonas", "Kenji", "Leila", "Malik", "Nadia", "Oscar", "Priya", "Quentin", "Rosa",
+            "Samuel", "Tamsin", "Ulrich", "Vera", "Wei", "Ximena", "Yusuf", "Zora", "Anders", "Beatrix",
+            "Cyrus", "Delphine", "Emeka", "Freya", "Hugo", "Ingrid", "Jude", "Kavya", "Lorenzo", "Mei"};
+
+    private static final String[] LAST_NAMES = {
+            "Abernathy", "Bianchi", "Castellanos", "Dubois", "Eriksen", "Fitzgerald", "Goldberg", "Hayashi", "Ivanova",
+            "Jaramillo", "Kowalski", "Lindqvist", "Moreau", "Nakamura", "Okafor", "Petrov", "Quinn", "Rahman",
+            "Silva", "Tanaka", "Underwood", "Vasquez", "Whitfield", "Xu", "Yilmaz", "Zimmermann", "Achebe", "Brennan",
+            "Chowdhury", "Delacroix", "Engel", "Fontaine", "Grimaldi", "Halvorsen", "Iwasaki", "Jovanovic", "Kapoor",
+            "Larsen", "Mbeki", "Novak", "Oyelaran", "Park", "Rossi", "Sato", "Thorne", "Varga", "Walsh", "Zhou"};
+
+    /** Number of distinct titles before volume numbers are needed. */
+    static final long TITLE_COMBINATIONS =
+            (long) OPENINGS.length * ADJECTIVES.length * NOUNS.length * PLACES.length;
+    private static final long NAME_COMBINATIONS = (long) FIRST_NAMES.length * LAST_NAMES.length;
+    /** Coprime to the number of combinations, so consecutive indexes get unrelated titles. */
+    private static final long TITLE_STRIDE = 7_919;
+    private static final long ISBN_PREFIX = 978_000_000_000L;
+    private static final long MAX_ISBNS = 1_000_000_000L;
+
+    private final double[] authorCumulative;
+    private final double availableRatio;
+    private final long randomSeed;
+
+    public CatalogGenerator(int authors, double zipfExponent, double availableRatio, long randomSeed) {
+        if (authors <= 0) {
+            throw new IllegalArgumentException("At least one author is required");
+        }
+        this.authorCumulative = zipfCumulative(authors, zipfExponent);
+        this.availableRatio = availableRatio;
+        this.randomSeed = randomSeed;
+    }
+
+    public CatalogGenerator(SeedProperties properties) {
+        this(properties.getAuthors(), properties.getZipfExponent(), properties.getAvailableRatio(),
+                properties.getRandomSeed());
+    }
+
+    /**
+     * Generate books lazily, so catalogs of any size can be produced in constant memory.
+     *
+     * @param offset Index of the first book
+     * @param count Number of books to generate
+     * @return Stream of generated books
+     */
+    public Stream<GeneratedBook> books(long offset, long count) {
+        if (offset < 0 || offset + count > MAX_ISBNS) {
+            throw new IllegalArgumentException("Book indexes must lie between 0 and " + MAX_ISBNS);
+        }
+        SplittableRandom random = new SplittableRandom(randomSeed ^ offset);
+        return LongStream.range(offset, offset + count)
+                .mapToObj(index -> new GeneratedBook(title(index), author(random.nextDouble()), isbn(index),
+                        random.nextDouble() < availableRatio));
+    }
+
+    /**
+     * The unique title of the book with the given index.
+     */
+    static String title(long index) {
+        long combination = index % TITLE_COMBINATIONS * TITLE_STRIDE % TITLE_COMBINATIONS;
+        long volume = index / TITLE_COMBINATIONS;
+
+        String title = OPENINGS[(int) (combination % OPENINGS.length)]
+                + " " + ADJECTIVES[(int) (combination / OPENINGS.length % ADJECTIVES.length)]
+                + " " + NOUNS[(int) (combination / OPENINGS.length / ADJECTIVES.length % NOUNS.length)]
+                + " of " + PLACES[(int) (combination / OPENINGS.length / ADJECTIVES.length / NOUNS.length)];
+        return volume == 0 ? title : title + ", Volume " + (volume + 1);
+    }
+
+    /**
+     * The valid ISBN-13 of the book with the given index.
+     */
+    static String isbn(long index) {
+        String digits = String.valueOf(ISBN_PREFIX + index);
+        return digits + BookKeys.isbn13CheckDigit(digits);
+    }
+
+    /**
+     * The author with the given popularity rank, starting at 0 for the most prolific author.
+     */
+    static String authorName(int rank) {
+        String name = FIRST_NAMES[rank % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(int) (rank / FIRST_NAMES.length % LAST_NAMES.length)];
+        long generation = rank / NAME_COMBINATIONS;
+        return generation == 0 ? name : name + " " + toRoman(generation + 1);
+    }
+
+    private String author(double uniform) {
+        int rank = Arrays.binarySearch(authorCumulative, uniform);
+        return authorName(Math.min(rank < 0 ? -rank - 1 : rank, authorCumulative.length - 1));
+    }
+
+    private static double[] zipfCumulative(int authors, double exponent) {
+        double[] cumulative = new double[authors];
+        double total = 0;
+        for (int rank = 0; rank < authors; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < authors; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private static String toRoman(long number) {
+        String[] symbols = {"X", "IX", "V", "IV", "I"};
+        int[] values = {10, 9, 5, 4, 1};
+        StringBuilder roman = new StringBuilder();
+        long remaining = number;
+        // Generations beyond the symbol table fall back to digits
+        if (remaining > 39) {
+            return String.valueOf(number);
+        }
+        for (int i = 0; i < values.length; i++) {
+            while (remaining >= values[i]) {
+                roman.append(symbols[i]);
+                remaining -= values[i];
+            }
+        }
+        return roman.toString();
+    }
+}
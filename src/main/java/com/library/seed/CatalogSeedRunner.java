@@ -0,0 +1,35 @@
+package com.library.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the catalog on startup when the {@code seed} profile is active, for example:
+ * <pre>
+ * java -jar library-management-system.jar --spring.profiles.active=seed \
+ *     --spring.main.web-application-type=none --library.seed.count=5000000
+ * </pre>
+ * By default the application exits once the catalog is loaded; set
+ * {@code library.seed.exit-on-completion=false} to keep serving on the seeded data.
+ */
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class CatalogSeedRunner implements CommandLineRunner {
+
+    private final CatalogSeeder catalogSeeder;
+    private final SeedProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(String... args) {
+        catalogSeeder.seed();
+        if (properties.isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
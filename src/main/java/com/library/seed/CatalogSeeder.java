@@ -0,0 +1,98 @@
+package com.library.seed;
+
+import com.library.model.BookKeys;
+import com.library.service.CatalogStatistics;
+import com.library.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Loads synthetic books from {@link CatalogGenerator} into the {@code books} table.
+ * Rows are written with JDBC batch inserts, one transaction per batch, bypassing JPA so that
+ * millions of rows load without a persistence context. On PostgreSQL, add
+ * {@code reWriteBatchedInserts=true} to the JDBC URL to send each batch as multi-row inserts.
+ */
+@Component
+@EnableConfigurationProperties(SeedProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSeeder {
+
+    private static final String INSERT_BOOK =
+            "INSERT INTO books (branch_id, title, title_key, author, isbn, available, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogStatistics catalogStatistics;
+    private final SeedProperties properties;
+
+    /**
+     * Generate and insert the catalog described by the {@code library.seed.*} properties.
+     *
+     * @return The number of books inserted
+     */
+    public long seed() {
+        return seed(properties.getOffset(), properties.getCount());
+    }
+
+    /**
+     * Generate and insert {@code count} books into the configured branch, starting at book index {@code offset}.
+     *
+     * @param offset Index of the first generated book
+     * @param count Number of books to insert
+     * @return The number of books inserted
+     */
+    public long seed(long offset, long count) {
+        CatalogGenerator generator = new CatalogGenerator(properties);
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long start = System.nanoTime();
+        long inserted = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String branch = TenantContext.normalize(properties.getBranch());
+
+        log.info("Seeding {} books into branch {} in batches of {}", count, branch, batchSize);
+        try (Stream<GeneratedBook> books = generator.books(offset, count)) {
+            Iterator<GeneratedBook> iterator = books.iterator();
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(toRow(branch, iterator.next(), now));
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    insert(batch);
+                    inserted += batch.size();
+                    batch.clear();
+                    if (inserted % (batchSize * 100L) == 0) {
+                        log.info("Seeded {} of {} books", inserted, count);
+                    }
+                }
+            }
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Seeded {} books in {} ms ({} rows/s)", inserted, millis, inserted * 1_000 / millis);
+
+        // Rows were written behind the service's back
+        catalogStatistics.reconcile();
+        return inserted;
+    }
+
+    private void insert(List<Object[]> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_BOOK, batch));
+    }
+
+    private static Object[] toRow(String branch, GeneratedBook book, Timestamp now) {
+        return new Object[]{branch, book.title(), BookKeys.titleKey(book.title()), book.author(), book.isbn(),
+                book.available(), now, now};
+    }
+}
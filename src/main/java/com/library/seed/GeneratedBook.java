@@ -0,0 +1,7 @@
+package com.library.seed;
+
+/**
+ * A synthetic book produced by {@link CatalogGenerator}.
+ */
+public record GeneratedBook(String title, String author, String isbn, boolean available) {
+}
@@ -0,0 +1,58 @@
+package com.library.seed;
+
+import com.library.tenant.TenantContext;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for synthetic catalog generation, used by the {@code seed} profile.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.seed")
+public class SeedProperties {
+
+    /**
+     * Number of books to generate.
+     */
+    private int count = 1_000_000;
+
+    /**
+     * Rows per batched insert and transaction.
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * Number of distinct authors books are spread over.
+     */
+    private int authors = 50_000;
+
+    /**
+     * Exponent of the Zipf distribution of books per author; higher values concentrate more books on the top authors.
+     */
+    private double zipfExponent = 1.0;
+
+    /**
+     * Fraction of generated books that are available.
+     */
+    private double availableRatio = 0.8;
+
+    /**
+     * Seed of the random generator, so the same settings always produce the same catalog.
+     */
+    private long randomSeed = 42;
+
+    /**
+     * Index of the first generated book. Runs with disjoint ranges can be loaded into the same catalog.
+     */
+    private long offset = 0;
+
+    /**
+     * Library branch the generated books belong to.
+     */
+    private String branch = TenantContext.DEFAULT_BRANCH;
+
+    /**
+     * Whether the seed profile stops the application once the catalog is loaded.
+     */
+    private boolean exitOnCompletion = true;
+}
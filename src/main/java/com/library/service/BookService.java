@@ -1,10 +1,16 @@
 package com.library.service;
 
+import com.library.dto.BookBatchResponseDTO;
 import com.library.dto.BookDTO;
 import com.library.dto.BookResponseDTO;
+import com.library.dto.BulkDeleteRequestDTO;
+import com.library.dto.BulkOperationResponseDTO;
+import com.library.dto.BulkUpdateRequestDTO;
+import com.library.dto.CatalogStatsDTO;
 import com.library.model.Book;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface defining operations for book management.
@@ -12,11 +18,12 @@ import java.util.List;
 public interface BookService {
     
     /**
-     * Get all books in the library.
+     * Stream all books in the library to the given consumer, one at a time,
+     * without holding the full catalog in memory.
      * 
-     * @return List of all books
+     * @param consumer Receives each book in ID order
      */
-    List<BookResponseDTO> getAllBooks();
+    void streamAllBooks(Consumer<BookResponseDTO> consumer);
     
     /**
      * Get a book by its ID.
@@ -27,6 +34,16 @@ public interface BookService {
      */
     BookResponseDTO getBookById(Long id);
     
+    /**
+     * Get many books by their IDs in a few queries.
+     * Duplicate IDs are looked up once; IDs without a book are reported instead of failing the lookup.
+     * 
+     * @param ids The book IDs
+     * @return The books found, in request order, and the missing IDs
+     * @throws IllegalArgumentException if no IDs are given or more than the batch size limit
+     */
+    BookBatchResponseDTO getBooksByIds(List<Long> ids);
+    
     /**
      * Check the availability of a book by its title.
      * 
@@ -94,4 +111,32 @@ public interface BookService {
      * @throws com.library.exception.BookNotFoundException if the book is not found
      */
     BookResponseDTO toggleAvailability(Long id);
-}
\ No newline at end of file
+    
+    /**
+     * Set the availability of many books at once, selected by ID list or filter.
+     * Books are updated in chunks, each in its own transaction, without loading entities.
+     * 
+     * @param request The selection and the target availability
+     * @return The result for every selected book ID
+     * @throws IllegalArgumentException if the selection exceeds the bulk size limit
+     */
+    BulkOperationResponseDTO bulkUpdateAvailability(BulkUpdateRequestDTO request);
+    
+    /**
+     * Delete many books at once, selected by ID list or filter.
+     * Books are deleted in chunks, each in its own transaction, without loading entities.
+     * 
+     * @param request The selection of books to delete
+     * @return The result for every selected book ID
+     * @throws IllegalArgumentException if the selection exceeds the bulk size limit
+     */
+    BulkOperationResponseDTO bulkDelete(BulkDeleteRequestDTO request);
+    
+    /**
+     * Get aggregated catalog statistics from incrementally maintained counters.
+     * 
+     * @param topAuthors Number of authors with the most books to include
+     * @return Totals, availability counts and the top authors
+     */
+    CatalogStatsDTO getCatalogStatistics(int topAuthors);
+}
@@ -1,18 +1,42 @@
 package com.library.service;
 
+import com.library.availability.AvailabilityWriteBehind;
+import com.library.cluster.BookChangeEvent;
+import com.library.cluster.ClusterEventBus;
+import com.library.dto.BookBatchResponseDTO;
 import com.library.dto.BookDTO;
 import com.library.dto.BookResponseDTO;
+import com.library.dto.BulkBookFilter;
+import com.library.dto.BulkDeleteRequestDTO;
+import com.library.dto.BulkOperationResponseDTO;
+import com.library.dto.BulkUpdateRequestDTO;
+import com.library.dto.CatalogStatsDTO;
 import com.library.exception.BookNotFoundException;
 import com.library.exception.DuplicateBookException;
 import com.library.model.Book;
+import com.library.model.BookKeys;
 import com.library.repository.BookRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of BookService that provides book management functionality.
@@ -23,28 +47,85 @@ import java.util.stream.Collectors;
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final RequestCoalescer requestCoalescer;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkOperationProperties bulkProperties;
+    private final CatalogStatistics catalogStatistics;
+    private final AvailabilityWriteBehind writeBehind;
+    private final ClusterEventBus clusterEvents;
 
     @Override
-    public List<BookResponseDTO> getAllBooks() {
-        log.info("Retrieving all books");
-        return bookRepository.findAll().stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamAllBooks(Consumer<BookResponseDTO> consumer) {
+        log.info("Streaming all books");
+        try (Stream<Book> books = bookRepository.streamAllBy()) {
+            books.forEach(book -> {
+                consumer.accept(mapToResponseDTO(book));
+                // Keep the persistence context empty so memory stays flat regardless of catalog size
+                entityManager.detach(book);
+            });
+        }
     }
 
     @Override
     public BookResponseDTO getBookById(Long id) {
         log.info("Finding book with id: {}", id);
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id));
-        return mapToResponseDTO(book);
+        // Concurrent lookups of the same popular book share one query, each getting its own copy
+        return requestCoalescer.execute("getBookById", id, () -> {
+            Book book = bookRepository.findById(id)
+                    .orElseThrow(() -> new BookNotFoundException(id));
+            return mapToResponseDTO(book);
+        }, book -> book.toBuilder().build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookBatchResponseDTO getBooksByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Book IDs cannot be empty");
+        }
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.size() > bulkProperties.getMaxBatchGetItems()) {
+            throw new IllegalArgumentException("Batch lookup requests " + distinctIds.size() +
+                    " books, more than the limit of " + bulkProperties.getMaxBatchGetItems());
+        }
+        log.info("Finding {} books by id", distinctIds.size());
+        
+        // Bounded IN lists keep every statement within database parameter limits
+        int chunkSize = bulkProperties.getChunkSize();
+        Map<Long, BookResponseDTO> found = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            bookRepository.findAllById(chunk).forEach(book -> found.put(book.getId(), mapToResponseDTO(book)));
+        }
+        
+        List<BookResponseDTO> books = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            BookResponseDTO book = found.get(id);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return BookBatchResponseDTO.builder()
+                .requested(distinctIds.size())
+                .books(books)
+                .missingIds(missingIds)
+                .build();
     }
 
     @Override
     public String checkBookAvailability(String title) {
         log.info("Checking availability for book: {}", title);
-        return bookRepository.findByTitle(title)
-                .map(book -> book.isAvailable() ?
+        String titleKey = BookKeys.titleKey(title);
+        Optional<Boolean> available = requestCoalescer.execute("checkBookAvailability", titleKey,
+                () -> bookRepository.findByTitleKey(titleKey)
+                        .map(book -> writeBehind.availability(book.getId(), book.isAvailable())));
+        return available
+                .map(isAvailable -> isAvailable ?
                         "The book '" + title + "' is available." :
                         "The book '" + title + "' is checked out.")
                 .orElse("The book '" + title + "' is not in the library's collection.");
@@ -56,18 +137,20 @@ public class BookServiceImpl implements BookService {
         log.info("Adding new book: {}", bookDTO.getTitle());
         
         // Check if book with same title already exists
-        if (bookRepository.existsByTitle(bookDTO.getTitle())) {
+        if (bookRepository.existsByTitleKey(BookKeys.titleKey(bookDTO.getTitle()))) {
             throw new DuplicateBookException("title", bookDTO.getTitle());
         }
         
         // Check if ISBN is provided and already exists
-        if (bookDTO.getIsbn() != null && !bookDTO.getIsbn().isBlank() && 
-            bookRepository.existsByIsbn(bookDTO.getIsbn())) {
+        String isbn = BookKeys.isbn(bookDTO.getIsbn());
+        if (isbn != null && bookRepository.existsByIsbn(isbn)) {
             throw new DuplicateBookException("ISBN", bookDTO.getIsbn());
         }
         
         Book book = mapToEntity(bookDTO);
         Book savedBook = bookRepository.save(book);
+        catalogStatistics.bookAdded(savedBook.getAuthor(), savedBook.isAvailable());
+        clusterEvents.publish(BookChangeEvent.added(savedBook.getId(), savedBook.getAuthor(), savedBook.isAvailable()));
         log.info("Book added successfully with id: {}", savedBook.getId());
         
         return mapToResponseDTO(savedBook);
@@ -77,27 +160,32 @@ public class BookServiceImpl implements BookService {
     @Transactional
     public BookResponseDTO updateBook(Long id, BookDTO bookDTO) {
         log.info("Updating book with id: {}", id);
+        writeBehind.settle();
         
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
         
         // Check if new title already exists for a different book
-        if (!existingBook.getTitle().equals(bookDTO.getTitle()) && 
-            bookRepository.existsByTitle(bookDTO.getTitle())) {
+        if (isTitleTaken(existingBook, bookDTO.getTitle())) {
             throw new DuplicateBookException("title", bookDTO.getTitle());
         }
         
         // Check if new ISBN already exists for a different book
-        if (bookDTO.getIsbn() != null && !bookDTO.getIsbn().isBlank() &&
-            !bookDTO.getIsbn().equals(existingBook.getIsbn()) &&
-            bookRepository.existsByIsbn(bookDTO.getIsbn())) {
+        String isbn = BookKeys.isbn(bookDTO.getIsbn());
+        if (isbn != null && !isbn.equals(existingBook.getIsbn()) && bookRepository.existsByIsbn(isbn)) {
             throw new DuplicateBookException("ISBN", bookDTO.getIsbn());
         }
         
+        catalogStatistics.bookChanged(existingBook.getAuthor(), existingBook.isAvailable(),
+                bookDTO.getAuthor(), bookDTO.isAvailable());
+        clusterEvents.publish(BookChangeEvent.updated(id, existingBook.getAuthor(), existingBook.isAvailable(),
+                bookDTO.getAuthor(), bookDTO.isAvailable()));
+        
         // Update fields
         existingBook.setTitle(bookDTO.getTitle());
+        existingBook.setTitleKey(BookKeys.titleKey(bookDTO.getTitle()));
         existingBook.setAuthor(bookDTO.getAuthor());
-        existingBook.setIsbn(bookDTO.getIsbn());
+        existingBook.setIsbn(isbn);
         existingBook.setAvailable(bookDTO.isAvailable());
         
         Book updatedBook = bookRepository.save(existingBook);
@@ -114,17 +202,20 @@ public class BookServiceImpl implements BookService {
         if (newTitle == null || newTitle.isBlank()) {
             throw new IllegalArgumentException("New title cannot be empty");
         }
+        writeBehind.settle();
         
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
         
         // Check if new title already exists
-        if (bookRepository.existsByTitle(newTitle)) {
+        if (isTitleTaken(existingBook, newTitle)) {
             throw new DuplicateBookException("title", newTitle);
         }
         
         existingBook.setTitle(newTitle);
+        existingBook.setTitleKey(BookKeys.titleKey(newTitle));
         Book updatedBook = bookRepository.save(existingBook);
+        clusterEvents.publish(BookChangeEvent.updated(id));
         log.info("Book title updated successfully to: {}", newTitle);
         
         return mapToResponseDTO(updatedBook);
@@ -139,19 +230,22 @@ public class BookServiceImpl implements BookService {
         if (oldTitle == null || oldTitle.isBlank() || newTitle == null || newTitle.isBlank()) {
             throw new IllegalArgumentException("Book titles cannot be empty");
         }
+        writeBehind.settle();
         
         // Find book by old title
-        Book existingBook = bookRepository.findByTitle(oldTitle)
+        Book existingBook = bookRepository.findByTitleKey(BookKeys.titleKey(oldTitle))
                 .orElseThrow(() -> new BookNotFoundException("title", oldTitle));
         
         // Check if new title already exists
-        if (bookRepository.existsByTitle(newTitle)) {
+        if (isTitleTaken(existingBook, newTitle)) {
             throw new DuplicateBookException("title", newTitle);
         }
         
         // Update title
         existingBook.setTitle(newTitle);
+        existingBook.setTitleKey(BookKeys.titleKey(newTitle));
         Book updatedBook = bookRepository.save(existingBook);
+        clusterEvents.publish(BookChangeEvent.updated(updatedBook.getId()));
         log.info("Book title updated successfully from '{}' to '{}'", oldTitle, newTitle);
         
         return mapToResponseDTO(updatedBook);
@@ -161,30 +255,199 @@ public class BookServiceImpl implements BookService {
     @Transactional
     public void deleteBook(Long id) {
         log.info("Deleting book with id: {}", id);
+        writeBehind.settle();
         
-        if (!bookRepository.existsById(id)) {
-            throw new BookNotFoundException(id);
-        }
+        Book existingBook = bookRepository.findById(id)
+                .orElseThrow(() -> new BookNotFoundException(id));
         
         bookRepository.deleteById(id);
+        catalogStatistics.bookRemoved(existingBook.getAuthor(), existingBook.isAvailable());
+        clusterEvents.publish(BookChangeEvent.removed(List.of(id),
+                List.of(new BookChangeEvent.CountChange(existingBook.getAuthor(), existingBook.isAvailable(), -1))));
         log.info("Book deleted successfully with id: {}", id);
     }
 
     @Override
-    @Transactional
     public BookResponseDTO toggleAvailability(Long id) {
         log.info("Toggling availability of book with id: {}", id);
         
-        Book existingBook = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id));
+        if (writeBehind.isEnabled()) {
+            // Acknowledged from the write-behind state; the row is written by the next flush
+            // Detached so a retried toggle reads the row again instead of the request's persistence context
+            AvailabilityWriteBehind.Toggle<Book> toggle = writeBehind.toggle(id, () -> {
+                Book book = bookRepository.findById(id).orElseThrow(() -> new BookNotFoundException(id));
+                entityManager.detach(book);
+                return book;
+            }, Book::isAvailable);
+            catalogStatistics.availabilityChanged(toggle.available(), 1);
+            clusterEvents.publish(BookChangeEvent.availabilityChanged(List.of(id), toggle.available(), 1));
+            log.info("Book '{}' is now {} (write pending)", toggle.book().getTitle(),
+                    toggle.available() ? "available" : "checked out");
+            BookResponseDTO response = mapToResponseDTO(toggle.book());
+            response.setAvailable(toggle.available());
+            return response;
+        }
         
-        existingBook.setAvailable(!existingBook.isAvailable());
-        Book updatedBook = bookRepository.save(existingBook);
+        return transactionTemplate.execute(transaction -> {
+            Book existingBook = bookRepository.findById(id)
+                    .orElseThrow(() -> new BookNotFoundException(id));
+            
+            existingBook.setAvailable(!existingBook.isAvailable());
+            Book updatedBook = bookRepository.save(existingBook);
+            catalogStatistics.availabilityChanged(updatedBook.isAvailable(), 1);
+            clusterEvents.publish(BookChangeEvent.availabilityChanged(List.of(id), updatedBook.isAvailable(), 1));
+            
+            String status = updatedBook.isAvailable() ? "available" : "checked out";
+            log.info("Book '{}' is now {}", updatedBook.getTitle(), status);
+            
+            return mapToResponseDTO(updatedBook);
+        });
+    }
+
+    @Override
+    public BulkOperationResponseDTO bulkUpdateAvailability(BulkUpdateRequestDTO request) {
+        boolean available = request.getAvailable();
+        log.info("Bulk updating availability to {}", available);
         
-        String status = updatedBook.isAvailable() ? "available" : "checked out";
-        log.info("Book '{}' is now {}", updatedBook.getTitle(), status);
+        BulkBookFilter filter = request.getFilter();
+        if (filter != null) {
+            if (Boolean.valueOf(available).equals(filter.getAvailable())) {
+                log.info("Bulk availability update selects only books that are already {}", available);
+                return BulkOperationResponseDTO.builder().results(List.of()).build();
+            }
+            // Select only the books whose availability changes, so the selection is not spent on unchanged books
+            filter = BulkBookFilter.builder().author(filter.getAuthor()).available(!available).build();
+        }
         
-        return mapToResponseDTO(updatedBook);
+        LocalDateTime updatedAt = LocalDateTime.now();
+        BulkOperationResponseDTO response = executeBulk(request.getIds(), filter,
+                BulkOperationResponseDTO.Status.UPDATED,
+                chunk -> {
+                    // Only books that actually change are reported as updated, whichever way they were selected
+                    List<Long> changing = bookRepository.lockIdsByAvailability(chunk, !available);
+                    if (changing.isEmpty()) {
+                        return changing;
+                    }
+                    int updated = bookRepository.updateAvailabilityByIds(changing, available, updatedAt);
+                    catalogStatistics.availabilityChanged(available, updated);
+                    if (updated > 0) {
+                        clusterEvents.publish(BookChangeEvent.availabilityChanged(changing, available, updated));
+                    }
+                    return changing;
+                });
+        
+        log.info("Bulk availability update finished: {} updated, {} unchanged, {} not found",
+                response.getSucceeded(), response.getUnchanged(), response.getNotFound());
+        return response;
+    }
+
+    @Override
+    public BulkOperationResponseDTO bulkDelete(BulkDeleteRequestDTO request) {
+        log.info("Bulk deleting books");
+        
+        BulkOperationResponseDTO response = executeBulk(request.getIds(), request.getFilter(),
+                BulkOperationResponseDTO.Status.DELETED,
+                chunk -> {
+                    // Count what is about to disappear so the statistics can be adjusted without a reload
+                    List<BookChangeEvent.CountChange> removed = new ArrayList<>();
+                    bookRepository.countByAuthorAndAvailability(chunk).forEach(count -> {
+                        catalogStatistics.booksRemoved(count.getAuthor(), count.isAvailable(), count.getBookCount());
+                        removed.add(new BookChangeEvent.CountChange(
+                                count.getAuthor(), count.isAvailable(), -count.getBookCount()));
+                    });
+                    bookRepository.deleteAllByIdIn(chunk);
+                    if (!removed.isEmpty()) {
+                        clusterEvents.publish(BookChangeEvent.removed(chunk, removed));
+                    }
+                    return chunk;
+                });
+        
+        log.info("Bulk delete finished: {} deleted, {} not found", response.getSucceeded(), response.getNotFound());
+        return response;
+    }
+
+    @Override
+    public CatalogStatsDTO getCatalogStatistics(int topAuthors) {
+        return catalogStatistics.snapshot(topAuthors);
+    }
+
+    /**
+     * Runs a set-based statement over the selected books in chunks, one transaction per chunk,
+     * so lock time and undo volume stay bounded no matter how many books are selected.
+     * The statement returns the books it changed; selected books it left alone are reported as unchanged.
+     */
+    private BulkOperationResponseDTO executeBulk(List<Long> ids, BulkBookFilter filter,
+                                                 BulkOperationResponseDTO.Status successStatus,
+                                                 Function<List<Long>, Collection<Long>> statement) {
+        int chunkSize = bulkProperties.getChunkSize();
+        List<BulkOperationResponseDTO.ItemResult> results = new ArrayList<>();
+        
+        if (ids != null && !ids.isEmpty()) {
+            List<Long> distinctIds = ids.stream().distinct().toList();
+            checkBulkSize(distinctIds.size());
+            
+            for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+                List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+                results.addAll(transactionTemplate.execute(status -> {
+                    writeBehind.settle();
+                    Set<Long> existing = new HashSet<>(bookRepository.findExistingIds(chunk));
+                    Set<Long> changed = existing.isEmpty() ? Set.of() :
+                            new HashSet<>(statement.apply(List.copyOf(existing)));
+                    return chunk.stream()
+                            .map(id -> itemResult(id, existing.contains(id), changed, successStatus))
+                            .toList();
+                }));
+            }
+        } else {
+            checkBulkSize(bookRepository.countByFilter(filter.getAuthor(), filter.getAvailable()));
+            
+            // Walk the matching IDs with a keyset so every chunk is a fresh, bounded query
+            long afterId = Long.MIN_VALUE;
+            while (results.size() < bulkProperties.getMaxItems()) {
+                long lastId = afterId;
+                Set<Long> changed = new HashSet<>();
+                List<Long> chunk = transactionTemplate.execute(status -> {
+                    writeBehind.settle();
+                    List<Long> matching = bookRepository.findIdsByFilter(filter.getAuthor(), filter.getAvailable(),
+                            lastId, chunkSize);
+                    if (!matching.isEmpty()) {
+                        changed.addAll(statement.apply(matching));
+                    }
+                    return matching;
+                });
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                chunk.forEach(id -> results.add(itemResult(id, true, changed, successStatus)));
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        }
+        
+        Map<BulkOperationResponseDTO.Status, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(BulkOperationResponseDTO.ItemResult::status, Collectors.counting()));
+        return BulkOperationResponseDTO.builder()
+                .requested(results.size())
+                .succeeded(counts.getOrDefault(successStatus, 0L).intValue())
+                .unchanged(counts.getOrDefault(BulkOperationResponseDTO.Status.UNCHANGED, 0L).intValue())
+                .notFound(counts.getOrDefault(BulkOperationResponseDTO.Status.NOT_FOUND, 0L).intValue())
+                .results(results)
+                .build();
+    }
+
+    private static BulkOperationResponseDTO.ItemResult itemResult(Long id, boolean exists, Set<Long> changed,
+                                                                  BulkOperationResponseDTO.Status successStatus) {
+        if (changed.contains(id)) {
+            return new BulkOperationResponseDTO.ItemResult(id, successStatus);
+        }
+        return new BulkOperationResponseDTO.ItemResult(id, exists ?
+                BulkOperationResponseDTO.Status.UNCHANGED : BulkOperationResponseDTO.Status.NOT_FOUND);
+    }
+
+    private void checkBulkSize(long size) {
+        if (size > bulkProperties.getMaxItems()) {
+            throw new IllegalArgumentException("Bulk operation selects " + size +
+                    " books, more than the limit of " + bulkProperties.getMaxItems());
+        }
     }
 
     /**
@@ -196,20 +459,30 @@ public class BookServiceImpl implements BookService {
                 .title(book.getTitle())
                 .author(book.getAuthor())
                 .isbn(book.getIsbn())
-                .available(book.isAvailable())
+                .available(writeBehind.availability(book.getId(), book.isAvailable()))
                 .createdAt(book.getCreatedAt())
                 .updatedAt(book.getUpdatedAt())
                 .build();
     }
 
+    /**
+     * Whether another book already has a title that normalizes to the same key as the new title.
+     * Changing only the case or spacing of a book's own title is allowed.
+     */
+    private boolean isTitleTaken(Book book, String newTitle) {
+        String titleKey = BookKeys.titleKey(newTitle);
+        return !titleKey.equals(BookKeys.titleKey(book.getTitle())) && bookRepository.existsByTitleKey(titleKey);
+    }
+
     /**
      * Maps a BookDTO to a Book entity.
      */
     private Book mapToEntity(BookDTO bookDTO) {
         return Book.builder()
                 .title(bookDTO.getTitle())
+                .titleKey(BookKeys.titleKey(bookDTO.getTitle()))
                 .author(bookDTO.getAuthor())
-                .isbn(bookDTO.getIsbn())
+                .isbn(BookKeys.isbn(bookDTO.getIsbn()))
                 .available(bookDTO.isAvailable())
                 .build();
     }
@@ -0,0 +1,27 @@
+package com.library.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for bulk update and delete operations and batch lookups.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.bulk")
+public class BulkOperationProperties {
+
+    /**
+     * Number of books updated, deleted or looked up per statement.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of books a single bulk request may affect.
+     */
+    private int maxItems = 10_000;
+
+    /**
+     * Maximum number of books a single batch lookup may request.
+     */
+    private int maxBatchGetItems = 1_000;
+}
@@ -0,0 +1,267 @@
+package com.library.service;
+
+import com.library.availability.AvailabilityWriteBehind;
+import com.library.cluster.BookChangeEvent;
+import com.library.dto.CatalogStatsDTO;
+import com.library.repository.AuthorBookCount;
+import com.library.repository.BookRepository;
+import com.library.repository.BranchBookCount;
+import com.library.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory catalog counters per library branch, maintained incrementally by {@link BookServiceImpl}.
+ * Counters are striped {@link LongAdder}s, so concurrent writers do not contend, and changes are
+ * applied only once their transaction commits. A periodic reconciliation against COUNT queries
+ * corrects any drift, e.g. from writes that bypass the service.
+ * Changes committed by other instances arrive as {@link BookChangeEvent}s and are applied as well.
+ * Changes and snapshots apply to the branch of the calling thread, see {@link TenantContext}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogStatistics {
+
+    private final BookRepository bookRepository;
+    private final AvailabilityWriteBehind writeBehind;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, BranchCounters> branches = new ConcurrentHashMap<>();
+    private volatile Instant lastReconciledAt;
+
+    /**
+     * Record a new book.
+     */
+    public void bookAdded(String author, boolean available) {
+        BranchCounters counters = counters();
+        afterCommit(() -> counters.apply(author, available, 1));
+    }
+
+    /**
+     * Record a removed book.
+     */
+    public void bookRemoved(String author, boolean available) {
+        BranchCounters counters = counters();
+        afterCommit(() -> counters.apply(author, available, -1));
+    }
+
+    /**
+     * Record removed books, counted per author and availability.
+     */
+    public void booksRemoved(String author, boolean available, long count) {
+        BranchCounters counters = counters();
+        afterCommit(() -> counters.apply(author, available, -count));
+    }
+
+    /**
+     * Record a change of a book's author or availability.
+     */
+    public void bookChanged(String oldAuthor, boolean oldAvailable, String newAuthor, boolean newAvailable) {
+        if (oldAvailable == newAvailable && (oldAuthor == null ? newAuthor == null : oldAuthor.equals(newAuthor))) {
+            return;
+        }
+        BranchCounters counters = counters();
+        afterCommit(() -> {
+            counters.apply(oldAuthor, oldAvailable, -1);
+            counters.apply(newAuthor, newAvailable, 1);
+        });
+    }
+
+    /**
+     * Record availability changes of existing books.
+     *
+     * @param nowAvailable The availability the books changed to
+     * @param count The number of books that changed
+     */
+    public void availabilityChanged(boolean nowAvailable, long count) {
+        if (count != 0) {
+            BranchCounters counters = counters();
+            afterCommit(() -> counters.availableBooks.add(nowAvailable ? count : -count));
+        }
+    }
+
+    /**
+     * Apply a change committed by another instance, or rebuild all counters if changes may have been missed.
+     */
+    @EventListener
+    public void remoteChange(BookChangeEvent event) {
+        if (event.type() == BookChangeEvent.Type.RESYNC) {
+            reconcile();
+            return;
+        }
+        BranchCounters counters = branches.computeIfAbsent(event.branch(), branch -> new BranchCounters());
+        event.counts().forEach(count -> counters.apply(count.author(), count.available(), count.books()));
+    }
+
+    /**
+     * Current statistics of the caller's branch, answered from the counters without touching the database.
+     * Authors are ranked as their counts change, so this reads only the first entries of the ranking.
+     *
+     * @param topAuthors Number of authors with the most books to include
+     */
+    public CatalogStatsDTO snapshot(int topAuthors) {
+        BranchCounters counters = branches.getOrDefault(TenantContext.current(), new BranchCounters());
+        long total = counters.totalBooks.sum();
+        long available = counters.availableBooks.sum();
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (AuthorRank rank : counters.ranking) {
+            if (top.size() >= topAuthors) {
+                break;
+            }
+            top.put(rank.author(), rank.books());
+        }
+
+        return CatalogStatsDTO.builder()
+                .totalBooks(total)
+                .availableBooks(available)
+                .checkedOutBooks(total - available)
+                .authors(counters.authors.sum())
+                .topAuthors(top)
+                .lastReconciledAt(lastReconciledAt)
+                .build();
+    }
+
+    /**
+     * Reset the counters of all branches from COUNT queries.
+     * Writes committing while this runs may be lost or counted twice until the next reconciliation.
+     * Pending write-behind changes are flushed first, so the counts include them.
+     * The transaction comes from a template, as this is also called from {@link #remoteChange}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${library.stats.reconcile-interval:PT5M}",
+               initialDelayString = "${library.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        transactionTemplate.executeWithoutResult(status -> recount());
+    }
+
+    private void recount() {
+        writeBehind.settle();
+        Map<String, BranchBookCount> books = bookRepository.countBooksByBranch().stream()
+                .collect(Collectors.toMap(BranchBookCount::getBranchId, Function.identity()));
+        Map<String, Map<String, Long>> authors = bookRepository.countBooksByAuthor().stream()
+                .collect(Collectors.groupingBy(AuthorBookCount::getBranchId,
+                        Collectors.toMap(AuthorBookCount::getAuthor, AuthorBookCount::getBookCount)));
+
+        long drift = 0;
+        for (BranchBookCount count : books.values()) {
+            BranchCounters counters = branches.computeIfAbsent(count.getBranchId(), branch -> new BranchCounters());
+            drift += count.getBookCount() - counters.totalBooks.sum();
+            counters.reset(count.getBookCount(), count.getAvailableCount(),
+                    authors.getOrDefault(count.getBranchId(), Map.of()));
+        }
+        for (Map.Entry<String, BranchCounters> entry : branches.entrySet()) {
+            if (!books.containsKey(entry.getKey())) {
+                drift -= entry.getValue().totalBooks.sum();
+                entry.getValue().reset(0, 0, Map.of());
+            }
+        }
+
+        lastReconciledAt = Instant.now();
+        if (drift != 0) {
+            log.warn("Catalog statistics drifted by {} books and were reconciled", drift);
+        }
+        log.debug("Catalog statistics reconciled: {} branches, {} books", books.size(),
+                books.values().stream().mapToLong(BranchBookCount::getBookCount).sum());
+    }
+
+    private BranchCounters counters() {
+        return branches.computeIfAbsent(TenantContext.current(), branch -> new BranchCounters());
+    }
+
+    /**
+     * Run an update once the surrounding transaction commits, or immediately outside a transaction.
+     */
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * The counters of one branch.
+     * Authors with books are kept in a ranking ordered by book count, which is updated within the
+     * per-author compute of the count map, so concurrent changes to one author cannot reorder it.
+     */
+    private static class BranchCounters {
+
+        private final LongAdder totalBooks = new LongAdder();
+        private final LongAdder availableBooks = new LongAdder();
+        private final LongAdder authors = new LongAdder();
+        private final Map<String, Long> booksByAuthor = new ConcurrentHashMap<>();
+        private final NavigableSet<AuthorRank> ranking = new ConcurrentSkipListSet<>(AuthorRank.ORDER);
+
+        void apply(String author, boolean available, long delta) {
+            totalBooks.add(delta);
+            if (available) {
+                availableBooks.add(delta);
+            }
+            if (author != null) {
+                booksByAuthor.compute(author, (key, books) -> rank(key, books, (books == null ? 0 : books) + delta));
+            }
+        }
+
+        void reset(long total, long available, Map<String, Long> counts) {
+            reset(totalBooks, total);
+            reset(availableBooks, available);
+            counts.forEach((author, count) -> booksByAuthor.compute(author, (key, books) -> rank(key, books, count)));
+            booksByAuthor.keySet().stream()
+                    .filter(author -> !counts.containsKey(author))
+                    .toList()
+                    .forEach(author -> booksByAuthor.compute(author, (key, books) -> rank(key, books, 0)));
+        }
+
+        /**
+         * Move an author to their new position in the ranking, returning the count to store, or null to drop it.
+         */
+        private Long rank(String author, Long previous, long books) {
+            if (previous != null && previous > 0) {
+                ranking.remove(new AuthorRank(author, previous));
+                authors.decrement();
+            }
+            if (books > 0) {
+                ranking.add(new AuthorRank(author, books));
+                authors.increment();
+            }
+            return books == 0 ? null : books;
+        }
+
+        private static void reset(LongAdder adder, long value) {
+            adder.add(value - adder.sum());
+        }
+    }
+
+    /**
+     * An author's position in the ranking: most books first, then by name.
+     */
+    private record AuthorRank(String author, long books) {
+
+        static final Comparator<AuthorRank> ORDER = Comparator.comparingLong(AuthorRank::books).reversed()
+                .thenComparing(AuthorRank::author);
+    }
+}
@@ -0,0 +1,120 @@
+package com.library.service;
+
+import com.library.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight coalescing of identical concurrent reads.
+ * The first caller for a key executes the load; callers arriving while it is in flight wait for
+ * and share its result or exception. Nothing is cached once the load completes, so results are
+ * never staler than the in-flight window. Calls only coalesce within one library branch.
+ * Mutable results are handed out through a copier, so callers never see each other's changes.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> collapsedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Execute a load, or join an identical one that is already in flight.
+     * All callers receive the same result object, so it must be immutable.
+     *
+     * @param operation Name of the operation, used to scope keys and tag metrics
+     * @param key The operation's arguments; must implement equals and hashCode
+     * @param loader Performs the actual load
+     * @return The result of the load
+     */
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        return execute(operation, key, loader, UnaryOperator.identity());
+    }
+
+    /**
+     * Execute a load with a mutable result, or join an identical one that is already in flight.
+     * Every caller, including the one that executed the load, receives its own copy of the result.
+     *
+     * @param operation Name of the operation, used to scope keys and tag metrics
+     * @param key The operation's arguments; must implement equals and hashCode
+     * @param loader Performs the actual load
+     * @param copier Copies the shared result for one caller
+     * @return A copy of the result of the load
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader, UnaryOperator<T> copier) {
+        CallKey callKey = new CallKey(operation, TenantContext.current(), key);
+        CompletableFuture<Object> promise = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(callKey, promise);
+        if (existing != null) {
+            counter(collapsedCounters, operation, "collapsed").increment();
+            return copier.apply((T) join(existing));
+        }
+
+        counter(executedCounters, operation, "executed").increment();
+        try {
+            T result = loader.get();
+            promise.complete(result);
+            return copier.apply(result);
+        } catch (RuntimeException | Error e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(callKey, promise);
+        }
+    }
+
+    /**
+     * Number of loads executed for an operation.
+     */
+    public long executedCount(String operation) {
+        Counter counter = executedCounters.get(operation);
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    /**
+     * Number of calls for an operation that were served by another caller's in-flight load.
+     */
+    public long collapsedCount(String operation) {
+        Counter counter = collapsedCounters.get(operation);
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    private Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String operation, String outcome) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder("library.coalescing.calls")
+                .description("Coalesced read calls by outcome")
+                .tag("operation", op)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private record CallKey(String operation, String branch, Object key) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.library.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks handler methods that repeat the same statement once per chunk by design, such as bulk operations
+ * and batch lookups. Their requests are still counted, but not checked for N+1 queries.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ChunkedQueries {
+}
@@ -0,0 +1,18 @@
+package com.library.sql;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link ChunkedQueriesInterceptor} for API requests.
+ * Kept apart from {@link SqlMonitoringConfig}, as MVC slice tests load every {@link WebMvcConfigurer}.
+ */
+@Configuration
+public class ChunkedQueriesConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ChunkedQueriesInterceptor()).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.sql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Turns off N+1 detection for the current request once it is mapped to a {@link ChunkedQueries} handler.
+ * Runs before the handler, so no statement of the request is checked.
+ */
+public class ChunkedQueriesInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(ChunkedQueries.class)) {
+            SqlQueryContext.current().ifPresent(SqlQueryContext::skipNPlusOneDetection);
+        }
+        return true;
+    }
+}
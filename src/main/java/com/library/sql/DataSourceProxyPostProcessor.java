@@ -0,0 +1,36 @@
+package com.library.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a datasource-proxy {@link ProxyDataSource}
+ * that reports every statement to the {@link SqlStatisticsListener}.
+ * The connection pool stays reachable through {@link DataSource#unwrap(Class)}, so pool metrics keep working.
+ */
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlMonitoringProperties> properties;
+    private final ObjectProvider<SqlStatisticsListener> listener;
+
+    public DataSourceProxyPostProcessor(ObjectProvider<SqlMonitoringProperties> properties,
+                                        ObjectProvider<SqlStatisticsListener> listener) {
+        this.properties = properties;
+        this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                && properties.getObject().isEnabled()) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(listener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.sql;
+
+/**
+ * Thrown by the statement that reveals a possible N+1 query when {@code library.sql.fail-on-n-plus-one} is set.
+ */
+public class NPlusOneQueryException extends RuntimeException {
+
+    public NPlusOneQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.library.sql;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement that ran longer than the slow-query threshold.
+ *
+ * @param timestamp     When the statement finished
+ * @param elapsedMillis Execution time
+ * @param sql           The statement text
+ * @param parameters    Bound parameters, one list per batch entry
+ * @param success       Whether the statement completed without an exception
+ */
+public record SlowQuery(Instant timestamp, long elapsedMillis, String sql, List<List<Object>> parameters,
+                        boolean success) {
+}
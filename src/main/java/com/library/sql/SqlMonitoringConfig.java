@@ -0,0 +1,43 @@
+package com.library.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Wires SQL monitoring: the data source proxy feeding {@link SqlStatisticsListener},
+ * and Hibernate statistics, which Spring Boot publishes as {@code hibernate.*} meters.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+public class SqlMonitoringConfig {
+
+    @Bean
+    public SqlStatisticsListener sqlStatisticsListener(SqlMonitoringProperties properties, MeterRegistry meterRegistry) {
+        return new SqlStatisticsListener(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * Static, so that the post processor is registered before the data source is created.
+     */
+    @Bean
+    public static DataSourceProxyPostProcessor dataSourceProxyPostProcessor(
+            ObjectProvider<SqlMonitoringProperties> properties, ObjectProvider<SqlStatisticsListener> listener) {
+        return new DataSourceProxyPostProcessor(properties, listener);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer(SqlMonitoringProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, properties.isHibernateStatistics());
+            // Statistics would otherwise log a metrics summary for every session
+            hibernateProperties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+}
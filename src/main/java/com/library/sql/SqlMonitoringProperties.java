@@ -0,0 +1,50 @@
+package com.library.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for SQL statement monitoring.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.sql")
+public class SqlMonitoringProperties {
+
+    /**
+     * Whether the data source is wrapped to time and count every statement.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether Hibernate collects session factory statistics, which are then published as {@code hibernate.*} meters.
+     */
+    private boolean hibernateStatistics = true;
+
+    /**
+     * Statements running at least this long are logged with their bound parameters.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Number of recent slow statements kept for the {@code sqlstats} endpoint.
+     */
+    private int slowQueryLogSize = 50;
+
+    /**
+     * A request executing the same statement this many times is reported as a possible N+1 query.
+     */
+    private int repeatedStatementThreshold = 5;
+
+    /**
+     * A request executing more statements than this is reported as a possible N+1 query.
+     */
+    private int maxQueriesPerRequest = 25;
+
+    /**
+     * Whether a detected N+1 query fails the request instead of only logging a warning; meant for tests.
+     * The statement that crosses a threshold throws, so the request fails before its response is written.
+     */
+    private boolean failOnNPlusOne = false;
+}
@@ -0,0 +1,94 @@
+package com.library.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Statements executed while handling one request, bound to the handling thread.
+ * Opened and closed by {@link com.library.filter.QueryCountFilter}; statements executed outside
+ * a context (scheduled jobs, streaming threads) are only counted globally.
+ */
+public final class SqlQueryContext {
+
+    private static final ThreadLocal<SqlQueryContext> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private boolean nPlusOneDetection;
+    private int queryCount;
+    private long totalMillis;
+
+    private SqlQueryContext(boolean nPlusOneDetection) {
+        this.nPlusOneDetection = nPlusOneDetection;
+    }
+
+    /**
+     * Open a context for the current thread, replacing any previous one.
+     */
+    public static SqlQueryContext begin() {
+        return begin(true);
+    }
+
+    /**
+     * Open a context for the current thread, replacing any previous one.
+     *
+     * @param nPlusOneDetection Whether the request's statements are checked for N+1 queries;
+     *                          off for requests that repeat statements on purpose, such as chunked bulk operations
+     */
+    public static SqlQueryContext begin(boolean nPlusOneDetection) {
+        SqlQueryContext context = new SqlQueryContext(nPlusOneDetection);
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * Close the current thread's context.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static Optional<SqlQueryContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Count one execution of a statement.
+     *
+     * @return How often the statement has now been executed in this context
+     */
+    int record(String sql, long elapsedMillis) {
+        queryCount++;
+        totalMillis += elapsedMillis;
+        return executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    /**
+     * Stop checking this context's statements for N+1 queries, see {@link ChunkedQueries}.
+     */
+    public void skipNPlusOneDetection() {
+        nPlusOneDetection = false;
+    }
+
+    public boolean isNPlusOneDetection() {
+        return nPlusOneDetection;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Statements executed at least {@code threshold} times, with their execution counts.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
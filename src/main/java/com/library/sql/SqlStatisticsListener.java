@@ -0,0 +1,147 @@
+package com.library.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives every statement executed through the proxied data source.
+ * Statements are timed per type in {@code library.sql.queries}, counted against the current
+ * {@link SqlQueryContext} and, when slower than the threshold, logged with their bound parameters
+ * and kept in a bounded log of recent slow queries. With {@code library.sql.fail-on-n-plus-one}, the statement
+ * that reveals a possible N+1 query throws {@link NPlusOneQueryException}.
+ */
+@Slf4j
+public class SqlStatisticsListener implements QueryExecutionListener {
+
+    private final SqlMonitoringProperties properties;
+    private final Clock clock;
+    private final Map<QueryType, Timer> timers = new EnumMap<>(QueryType.class);
+    private final Counter slowQueryCounter;
+    private final Deque<SlowQuery> recentSlowQueries = new ArrayDeque<>();
+
+    public SqlStatisticsListener(SqlMonitoringProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        for (QueryType type : QueryType.values()) {
+            timers.put(type, Timer.builder("library.sql.queries")
+                    .description("SQL statements executed through the application data source")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.slowQueryCounter = Counter.builder("library.sql.slow.queries")
+                .description("SQL statements slower than the slow-query threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            timers.get(QueryUtils.getQueryType(sql)).record(elapsedMillis, TimeUnit.MILLISECONDS);
+            SqlQueryContext.current().ifPresent(context -> {
+                int executions = context.record(sql, elapsedMillis);
+                if (properties.isFailOnNPlusOne() && context.isNPlusOneDetection()) {
+                    failOnNPlusOne(context, sql, executions);
+                }
+            });
+        }
+
+        if (elapsedMillis >= properties.getSlowQueryThreshold().toMillis()) {
+            recordSlowQuery(execInfo, queryInfoList);
+        }
+    }
+
+    /**
+     * Recent slow statements, newest first.
+     */
+    public synchronized List<SlowQuery> recentSlowQueries() {
+        return List.copyOf(recentSlowQueries);
+    }
+
+    public synchronized void clearSlowQueries() {
+        recentSlowQueries.clear();
+    }
+
+    public long slowQueryCount() {
+        return (long) slowQueryCounter.count();
+    }
+
+    /**
+     * Number of statements executed so far, per statement type.
+     */
+    public Map<String, Long> queryCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        timers.forEach((type, timer) -> counts.put(type.name().toLowerCase(), timer.count()));
+        return counts;
+    }
+
+    /**
+     * Fail the statement that crosses a threshold, while the request can still answer with an error.
+     * Each threshold is crossed once, so the request fails at most once per threshold.
+     */
+    private void failOnNPlusOne(SqlQueryContext context, String sql, int executions) {
+        if (executions == properties.getRepeatedStatementThreshold()) {
+            throw new NPlusOneQueryException("Possible N+1 query: statement executed " + executions +
+                    " times in one request: " + sql);
+        }
+        if (context.getQueryCount() == properties.getMaxQueriesPerRequest() + 1) {
+            throw new NPlusOneQueryException("Possible N+1 query: more than " + properties.getMaxQueriesPerRequest() +
+                    " statements in one request");
+        }
+    }
+
+    private void recordSlowQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        slowQueryCounter.increment();
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<Object>> parameters = parameters(queryInfo);
+            log.warn("Slow query ({} ms): {} parameters {}", execInfo.getElapsedTime(), queryInfo.getQuery(), parameters);
+
+            synchronized (this) {
+                recentSlowQueries.addFirst(new SlowQuery(clock.instant(), execInfo.getElapsedTime(),
+                        queryInfo.getQuery(), parameters, execInfo.isSuccess()));
+                while (recentSlowQueries.size() > properties.getSlowQueryLogSize()) {
+                    recentSlowQueries.removeLast();
+                }
+            }
+        }
+    }
+
+    private static List<List<Object>> parameters(QueryInfo queryInfo) {
+        List<List<Object>> parameters = new ArrayList<>();
+        for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+            List<Object> values = new ArrayList<>();
+            operations.stream()
+                    .filter(operation -> operation.getArgs().length > 1)
+                    .sorted(Comparator.comparingInt(operation ->
+                            operation.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE))
+                    .forEach(operation -> values.add(ParameterSetOperation.isSetNullParameterOperation(operation) ?
+                            null : operation.getArgs()[1]));
+            parameters.add(values);
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,127 @@
+package com.library.sql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint ({@code /actuator/sqlstats}) reporting statement counts, queries per request,
+ * recent slow queries, Hibernate statistics and connection pool state.
+ * A DELETE resets the Hibernate statistics and the slow-query log.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private final SqlStatisticsListener statisticsListener;
+    private final SqlMonitoringProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, Object> sqlStats() {
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("byType", statisticsListener.queryCounts());
+        queries.put("slow", statisticsListener.slowQueryCount());
+        queries.put("slowThresholdMillis", properties.getSlowQueryThreshold().toMillis());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("queries", queries);
+        result.put("requests", requestStats());
+        result.put("recentSlowQueries", statisticsListener.recentSlowQueries());
+        result.put("hibernate", hibernateStats());
+        result.put("connectionPool", connectionPoolStats());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics().clear();
+        statisticsListener.clearSlowQueries();
+    }
+
+    private Map<String, Object> requestStats() {
+        Map<String, Object> requests = new LinkedHashMap<>();
+        for (DistributionSummary summary : meterRegistry.find("library.sql.queries.per.request").summaries()) {
+            String endpoint = summary.getId().getTag("method") + " " + summary.getId().getTag("uri");
+            requests.put(endpoint, Map.of(
+                    "requests", summary.count(),
+                    "meanQueries", summary.mean(),
+                    "maxQueries", summary.max()));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("nPlusOneWarnings", meterRegistry.find("library.sql.n-plus-one").counters().stream()
+                .mapToDouble(Counter::count).sum());
+        result.put("queriesPerRequest", requests);
+        return result;
+    }
+
+    private Map<String, Object> hibernateStats() {
+        Statistics statistics = statistics();
+        Map<String, Object> hibernate = new LinkedHashMap<>();
+        hibernate.put("enabled", statistics.isStatisticsEnabled());
+        hibernate.put("preparedStatements", statistics.getPrepareStatementCount());
+        hibernate.put("queryExecutions", statistics.getQueryExecutionCount());
+        hibernate.put("queryExecutionMaxTimeMillis", statistics.getQueryExecutionMaxTime());
+        hibernate.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        hibernate.put("entityLoads", statistics.getEntityLoadCount());
+        hibernate.put("entityFetches", statistics.getEntityFetchCount());
+        hibernate.put("entityInserts", statistics.getEntityInsertCount());
+        hibernate.put("entityUpdates", statistics.getEntityUpdateCount());
+        hibernate.put("entityDeletes", statistics.getEntityDeleteCount());
+        hibernate.put("collectionFetches", statistics.getCollectionFetchCount());
+        hibernate.put("flushes", statistics.getFlushCount());
+        hibernate.put("transactions", statistics.getTransactionCount());
+        return hibernate;
+    }
+
+    private Map<String, Object> connectionPoolStats() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        HikariPoolMXBean poolBean = hikariPool();
+        if (poolBean != null) {
+            pool.put("active", poolBean.getActiveConnections());
+            pool.put("idle", poolBean.getIdleConnections());
+            pool.put("total", poolBean.getTotalConnections());
+            pool.put("threadsAwaitingConnection", poolBean.getThreadsAwaitingConnection());
+        }
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            pool.put("acquisitions", acquire.count());
+            pool.put("acquireMeanMillis", acquire.mean(TimeUnit.MILLISECONDS));
+            pool.put("acquireMaxMillis", acquire.max(TimeUnit.MILLISECONDS));
+        }
+        return pool;
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ?
+                    dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean() : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,41 @@
+package com.library.tenant;
+
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Wires branch partitioning: Hibernate resolves the branch of each session from {@link TenantContext},
+ * and tasks run by the application task executor, which also runs streaming response bodies,
+ * keep the branch of the request that started them.
+ */
+@Configuration
+@EnableConfigurationProperties(TenantProperties.class)
+public class TenantConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolverCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(
+                AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new TenantIdentifierResolver());
+    }
+
+    @Bean
+    public TaskDecorator tenantTaskDecorator() {
+        return TenantContext::wrap;
+    }
+
+    @Bean
+    public OperationCustomizer branchHeaderCustomizer(TenantProperties properties) {
+        return (operation, handlerMethod) -> operation.addParametersItem(new HeaderParameter()
+                .name(properties.getHeader())
+                .description("Library branch to work on (default: " + TenantContext.DEFAULT_BRANCH + ")")
+                .required(properties.isHeaderRequired())
+                .schema(new StringSchema()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.library.tenant;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The library branch a request works on, bound to the handling thread.
+ * Set by {@link com.library.filter.TenantFilter} from the branch header; threads without a branch
+ * (startup, scheduled jobs) work on {@link #DEFAULT_BRANCH}. Work handed to other threads must be
+ * wrapped with {@link #wrap(Runnable)} to keep the caller's branch.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_BRANCH = "main";
+
+    private static final Pattern BRANCH_ID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * The current thread's branch, or the default branch if none is set.
+     */
+    public static String current() {
+        String branch = CURRENT.get();
+        return branch != null ? branch : DEFAULT_BRANCH;
+    }
+
+    public static void set(String branch) {
+        CURRENT.set(branch);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wrap a task so that it runs on the branch that is current when it is wrapped.
+     */
+    public static Runnable wrap(Runnable task) {
+        String branch = current();
+        return () -> {
+            String previous = CURRENT.get();
+            CURRENT.set(branch);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    /**
+     * Normalize a branch ID as sent by a client: trimmed and lower-cased.
+     *
+     * @param branch The branch ID as sent
+     * @return The normalized branch ID
+     * @throws IllegalArgumentException If the ID is not 1-64 letters, digits, '-' or '_', starting with a letter or digit
+     */
+    public static String normalize(String branch) {
+        String normalized = branch.strip().toLowerCase(Locale.ROOT);
+        if (!BRANCH_ID.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid branch ID: " + branch);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,22 @@
+package com.library.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Tells Hibernate which branch a new session belongs to.
+ * Hibernate fills the {@code @TenantId} column of new books with it and restricts every
+ * query on books to it.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        // Sessions are opened per request or transaction by Spring, never reused across branches
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.library.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for serving several library branches from one deployment.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.tenant")
+public class TenantProperties {
+
+    /** Request header naming the branch a request works on. */
+    private String header = "X-Library-Branch";
+
+    /** Reject API requests without the branch header instead of serving the default branch. */
+    private boolean headerRequired = false;
+}
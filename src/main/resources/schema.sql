@@ -0,0 +1,54 @@
+-- Runs on every start (spring.sql.init.mode=always), on H2 and PostgreSQL alike, so every statement is idempotent
+
+-- Create books table
+CREATE TABLE IF NOT EXISTS books (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    -- Library branch owning the book (X-Library-Branch header)
+    branch_id VARCHAR(64) NOT NULL DEFAULT 'main',
+    title VARCHAR(255) NOT NULL,
+    -- Case-folded title (NFKC, trimmed, whitespace collapsed, lower-cased), see BookKeys
+    title_key VARCHAR(1024) NOT NULL,
+    author VARCHAR(255),
+    isbn VARCHAR(20),
+    available BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Upgrade a table created before branches and title keys: existing books belong to the main branch.
+-- BookSchemaMigration then backfills the title keys and drops the table-wide UNIQUE(title) and UNIQUE(isbn)
+ALTER TABLE books ADD COLUMN IF NOT EXISTS branch_id VARCHAR(64) NOT NULL DEFAULT 'main';
+ALTER TABLE books ADD COLUMN IF NOT EXISTS title_key VARCHAR(1024);
+
+-- Titles and ISBNs are unique per branch. Title lookups and duplicate checks go through the key;
+-- isbn holds the canonical ISBN-13. Every query is restricted to one branch, so branch_id leads each index.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_books_branch_title_key ON books (branch_id, title_key);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_books_branch_isbn ON books (branch_id, isbn);
+CREATE INDEX IF NOT EXISTS idx_books_branch_id ON books (branch_id, id);
+CREATE INDEX IF NOT EXISTS idx_books_branch_author ON books (branch_id, author);
+
+-- Responses recorded for Idempotency-Key retries (used when library.idempotency.store=jdbc)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    status INT,
+    content_type VARCHAR(255),
+    body BYTEA,
+    -- SHA-256 of the request body; a retry with a different body is rejected
+    request_hash VARCHAR(64),
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
+
+-- Insert sample data into an empty catalog
+INSERT INTO books (title, title_key, author, isbn, available)
+SELECT title, title_key, author, isbn, available FROM (VALUES
+    ('The Great Gatsby', 'the great gatsby', 'F. Scott Fitzgerald', '9780743273565', TRUE),
+    ('1984', '1984', 'George Orwell', '9780451524935', FALSE),
+    ('To Kill a Mockingbird', 'to kill a mockingbird', 'Harper Lee', '9780061120084', TRUE),
+    ('Pride and Prejudice', 'pride and prejudice', 'Jane Austen', '9780141439518', TRUE),
+    ('The Catcher in the Rye', 'the catcher in the rye', 'J.D. Salinger', '9780316769488', FALSE),
+    ('Brave New World', 'brave new world', 'Aldous Huxley', '9780060850524', TRUE),
+    ('Lord of the Flies', 'lord of the flies', 'William Golding', '9780399501487', TRUE)
+) AS sample (title, title_key, author, isbn, available)
+WHERE NOT EXISTS (SELECT 1 FROM books);
@@ -0,0 +1,98 @@
+package com.library.availability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityJournalTest {
+
+    private static final int SIZE = AvailabilityJournal.HEADER_SIZE + 4 * AvailabilityJournal.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay the latest unflushed change per book after reopening")
+    void open_AfterAppends_ShouldReplayPendingChanges() throws Exception {
+        // Given
+        Path file = directory.resolve("availability.journal");
+        try (AvailabilityJournal journal = AvailabilityJournal.open(file, SIZE, false)) {
+            journal.append(1L, false);
+            journal.append(2L, false);
+            journal.append(1L, true);
+        }
+
+        // When
+        try (AvailabilityJournal journal = AvailabilityJournal.open(file, SIZE, false)) {
+            // Then
+            assertEquals(Map.of(1L, true, 2L, false), journal.pending());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not replay changes once they are checkpointed")
+    void checkpoint_ShouldClearPendingChanges() throws Exception {
+        // Given
+        Path file = directory.resolve("availability.journal");
+        try (AvailabilityJournal journal = AvailabilityJournal.open(file, SIZE, false)) {
+            journal.append(1L, false);
+
+            // When
+            journal.checkpoint();
+            journal.append(3L, true);
+        }
+
+        // Then
+        try (AvailabilityJournal journal = AvailabilityJournal.open(file, SIZE, false)) {
+            assertEquals(Map.of(3L, true), journal.pending());
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of the journal")
+    void open_WithCorruptRecord_ShouldStopAtLastIntactRecord() throws Exception {
+        // Given
+        Path file = directory.resolve("availability.journal");
+        try (AvailabilityJournal journal = AvailabilityJournal.open(file, SIZE, false)) {
+            journal.append(1L, false);
+            journal.append(2L, false);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Corrupt the checksum of the second record
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}),
+                    AvailabilityJournal.HEADER_SIZE + AvailabilityJournal.RECORD_SIZE + 12);
+        }
+
+        // When
+        try (AvailabilityJournal journal = AvailabilityJournal.open(file, SIZE, false)) {
+            // Then
+            assertEquals(Map.of(1L, false), journal.pending());
+            assertTrue(journal.append(4L, true));
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse appends when full until checkpointed")
+    void append_WhenFull_ShouldReturnFalse() throws Exception {
+        try (AvailabilityJournal journal = AvailabilityJournal.open(directory.resolve("full.journal"), SIZE, false)) {
+            for (long id = 1; id <= 4; id++) {
+                assertTrue(journal.append(id, true));
+            }
+            assertFalse(journal.append(5L, true));
+            assertFalse(journal.hasRoom());
+
+            journal.checkpoint();
+
+            assertTrue(journal.isEmpty());
+            assertTrue(journal.append(5L, true));
+        }
+    }
+}
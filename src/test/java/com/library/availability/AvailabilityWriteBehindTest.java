@@ -0,0 +1,213 @@
+package com.library.availability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityWriteBehindTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private WriteBehindProperties properties;
+    private AvailabilityWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        // Long enough that the background worker never runs during a test
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setJournal(directory.resolve("availability.journal"));
+        properties.setQueueCapacity(2);
+        writeBehind = newWriteBehind();
+        writeBehind.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        writeBehind.stop();
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated toggles and flush only the final state")
+    @SuppressWarnings("unchecked")
+    void flush_AfterRepeatedToggles_ShouldWriteFinalStateOnce() {
+        // Given
+        toggle(writeBehind, 1L, true);
+        toggle(writeBehind, 1L, true);
+        boolean available = toggle(writeBehind, 1L, true);
+
+        // When
+        writeBehind.flush();
+
+        // Then
+        assertFalse(available);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(false, rows.getValue().get(0)[0]);
+        assertEquals(1L, rows.getValue().get(0)[2]);
+        // Flushed, so the persisted availability applies again
+        assertTrue(writeBehind.availability(1L, true));
+    }
+
+    @Test
+    @DisplayName("Should report the pending availability until it is flushed")
+    void availability_WithPendingChange_ShouldOverridePersistedValue() {
+        // When
+        toggle(writeBehind, 7L, true);
+
+        // Then
+        assertFalse(writeBehind.availability(7L, true));
+        assertTrue(writeBehind.availability(8L, true));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should flush before accepting a toggle beyond the queue capacity")
+    void toggle_WhenQueueFull_ShouldFlushAndRetry() {
+        // Given
+        toggle(writeBehind, 1L, true);
+        toggle(writeBehind, 2L, true);
+
+        // When
+        toggle(writeBehind, 3L, true);
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 2));
+        assertFalse(writeBehind.availability(3L, true));
+        assertTrue(writeBehind.availability(1L, true));
+    }
+
+    @Test
+    @DisplayName("Should replay unflushed toggles from the journal after a restart")
+    void start_AfterCrash_ShouldReplayJournal() throws Exception {
+        // Given
+        toggle(writeBehind, 5L, true);
+
+        // When: a new instance opens the same journal without the first one flushing
+        AvailabilityWriteBehind restarted = newWriteBehind();
+        restarted.start();
+
+        // Then
+        assertFalse(restarted.availability(5L, true));
+        restarted.flush();
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) ->
+                rows.size() == 1 && rows.get(0)[2].equals(5L)));
+        restarted.stop();
+    }
+
+    @Test
+    @DisplayName("Should keep changes pending when the flush fails")
+    void flush_WhenUpdateFails_ShouldKeepChangesPending() {
+        // Given
+        toggle(writeBehind, 1L, true);
+        doThrow(new IllegalStateException("database down"))
+                .when(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> !rows.isEmpty()));
+
+        // When
+        assertThrows(IllegalStateException.class, writeBehind::flush);
+
+        // Then
+        assertFalse(writeBehind.availability(1L, true));
+    }
+
+    @Test
+    @DisplayName("Should not make writes wait for each other while nothing is pending")
+    void settle_WithNothingPending_ShouldNotSerializeWrites() throws Exception {
+        // Given: a write on this thread settles and keeps its transaction open
+        TransactionSynchronizationManager.initSynchronization();
+        writeBehind.settle();
+
+        // When
+        Future<?> otherWrite = executor.submit(() -> inTransaction(writeBehind::settle));
+
+        // Then
+        otherWrite.get(5, TimeUnit.SECONDS);
+        completeTransaction();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should hold a toggle back until a settled write completes, then re-read the book")
+    void toggle_DuringSettledWrite_ShouldWaitAndReread() throws Exception {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        writeBehind.settle();
+        AtomicInteger reads = new AtomicInteger();
+
+        // When
+        Future<Boolean> toggled = executor.submit(() -> writeBehind.toggle(1L, () -> {
+            reads.incrementAndGet();
+            return true;
+        }, Boolean::booleanValue).available());
+
+        // Then
+        assertThrows(TimeoutException.class, () -> toggled.get(200, TimeUnit.MILLISECONDS));
+        completeTransaction();
+        assertFalse(toggled.get(5, TimeUnit.SECONDS));
+        assertEquals(2, reads.get());
+    }
+
+    private static boolean toggle(AvailabilityWriteBehind writeBehind, long id, boolean persisted) {
+        return writeBehind.toggle(id, () -> persisted, Boolean::booleanValue).available();
+    }
+
+    private static void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+        } finally {
+            completeTransaction();
+        }
+    }
+
+    private static void completeTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private AvailabilityWriteBehind newWriteBehind() {
+        return new AvailabilityWriteBehind(properties, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,191 @@
+package com.library.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.availability.WriteBehindProperties;
+import com.library.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterEventBusTest {
+
+    private final String channel = "test_" + UUID.randomUUID().toString().replace("-", "");
+    private final List<Object> receivedByFirst = new CopyOnWriteArrayList<>();
+    private final List<Object> receivedBySecond = new CopyOnWriteArrayList<>();
+
+    private ClusterEventBus first;
+    private ClusterEventBus second;
+
+    @BeforeEach
+    void setUp() {
+        first = bus("first", receivedByFirst);
+        second = bus("second", receivedBySecond);
+        first.start();
+        second.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.stop();
+        second.stop();
+        TenantContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver changes to the other nodes only, tagged with origin and branch")
+    void publish_ShouldReachOtherNodesOnly() {
+        // Given
+        TenantContext.set("east");
+
+        // When
+        first.publish(BookChangeEvent.added(7L, "George Orwell", true));
+        first.stop();
+
+        // Then
+        assertTrue(receivedByFirst.isEmpty());
+        assertEquals(List.of(new BookChangeEvent("first", "east", BookChangeEvent.Type.ADDED, List.of(7L),
+                List.of(new BookChangeEvent.CountChange("George Orwell", true, 1)))), receivedBySecond);
+    }
+
+    @Test
+    @DisplayName("Should hold changes back until the surrounding transaction commits")
+    void publish_InTransaction_ShouldSendAfterCommit() throws InterruptedException {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        first.publish(BookChangeEvent.updated(7L));
+        Thread.sleep(50);
+        assertTrue(receivedBySecond.isEmpty());
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        await(() -> receivedBySecond.size() == 1);
+    }
+
+    @Test
+    @DisplayName("Should send large changes as affecting the whole branch")
+    void publish_WithTooManyIds_ShouldDropIds() throws InterruptedException {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        // When
+        first.publish(BookChangeEvent.availabilityChanged(ids, false, 501));
+
+        // Then
+        await(() -> !receivedBySecond.isEmpty());
+        BookChangeEvent received = (BookChangeEvent) receivedBySecond.get(0);
+        assertNull(received.bookIds());
+        assertEquals(List.of(new BookChangeEvent.CountChange(null, true, -501),
+                new BookChangeEvent.CountChange(null, false, 501)), received.counts());
+    }
+
+    @Test
+    @DisplayName("Should ask other nodes to resync when a change is too large for the transport")
+    void publish_WithTooLargeMessage_ShouldSendResync() {
+        // Given
+        ClusterEventBus small = bus("small", new ArrayList<>(), new InProcessClusterTransport(channel) {
+            @Override
+            public int maxMessageBytes() {
+                return 120;
+            }
+        });
+        small.start();
+        TenantContext.set("a-branch-with-a-rather-long-name");
+
+        // When
+        small.publish(BookChangeEvent.added(7L, "An author with an even longer name than the branch", true));
+        small.publish(BookChangeEvent.updated(8L));
+        small.stop();
+
+        // Then
+        assertEquals(List.of(BookChangeEvent.Type.RESYNC, BookChangeEvent.Type.UPDATED),
+                receivedBySecond.stream().map(event -> ((BookChangeEvent) event).type()).toList());
+    }
+
+    @Test
+    @DisplayName("Should ask other nodes to resync once a change could not be sent")
+    void publish_WhenSendFails_ShouldSendResync() throws InterruptedException {
+        // Given
+        AtomicBoolean failing = new AtomicBoolean(true);
+        ClusterEventBus flaky = bus("flaky", new ArrayList<>(), new InProcessClusterTransport(channel) {
+            @Override
+            public void send(String message) {
+                if (failing.getAndSet(false)) {
+                    throw new IllegalStateException("Connection lost");
+                }
+                super.send(message);
+            }
+        });
+        flaky.start();
+
+        // When
+        flaky.publish(BookChangeEvent.updated(7L));
+
+        // Then
+        await(() -> !receivedBySecond.isEmpty());
+        flaky.stop();
+        assertEquals(List.of(BookChangeEvent.resync("flaky")), receivedBySecond);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start together with availability write-behind")
+    void start_WithWriteBehindEnabled_ShouldFail() {
+        // Given
+        WriteBehindProperties writeBehind = new WriteBehindProperties();
+        writeBehind.setEnabled(true);
+        ClusterEventBus bus = bus("third", new ArrayList<>(), writeBehind);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, bus::start);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for events");
+            Thread.sleep(10);
+        }
+    }
+
+    private ClusterEventBus bus(String nodeId, List<Object> received) {
+        return bus(nodeId, received, new WriteBehindProperties());
+    }
+
+    private ClusterEventBus bus(String nodeId, List<Object> received, ClusterTransport transport) {
+        return bus(nodeId, received, transport, new WriteBehindProperties());
+    }
+
+    private ClusterEventBus bus(String nodeId, List<Object> received, WriteBehindProperties writeBehind) {
+        return bus(nodeId, received, new InProcessClusterTransport(channel), writeBehind);
+    }
+
+    private ClusterEventBus bus(String nodeId, List<Object> received, ClusterTransport transport,
+                                WriteBehindProperties writeBehind) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setEnabled(true);
+        properties.setChannel(channel);
+        properties.setNodeId(nodeId);
+        properties.setReconnectDelay(Duration.ofMillis(10));
+        return new ClusterEventBus(properties, transport, new ObjectMapper(), received::add, writeBehind,
+                new SimpleMeterRegistry());
+    }
+}
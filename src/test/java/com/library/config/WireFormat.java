@@ -0,0 +1,87 @@
+package com.library.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.library.dto.BookResponseDTO;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One of the wire formats offered by the API, encoding and decoding through the converter the application
+ * registers for it, so tests measure exactly what a request goes through.
+ */
+record WireFormat(String name, MediaType mediaType, AbstractJackson2HttpMessageConverter converter) {
+
+    private static final Type BOOK_LIST = new TypeReference<List<BookResponseDTO>>() {}.getType();
+
+    /**
+     * Context holding Boot's Jackson configuration and converters together with {@link WireFormatConfig}.
+     */
+    static ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                        HttpMessageConvertersAutoConfiguration.class))
+                .withUserConfiguration(WireFormatConfig.class);
+    }
+
+    /**
+     * JSON, Smile and CBOR, in that order, from the converters of the given context.
+     */
+    static List<WireFormat> all(ApplicationContext context) {
+        return List.of(
+                new WireFormat("json", MediaType.APPLICATION_JSON,
+                        context.getBean(MappingJackson2HttpMessageConverter.class)),
+                new WireFormat("smile", WireFormatConfig.APPLICATION_SMILE,
+                        context.getBean(MappingJackson2SmileHttpMessageConverter.class)),
+                new WireFormat("cbor", MediaType.APPLICATION_CBOR,
+                        context.getBean(MappingJackson2CborHttpMessageConverter.class)));
+    }
+
+    /**
+     * A list response of the given number of books, as returned by the catalog endpoints.
+     */
+    static List<BookResponseDTO> books(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookResponseDTO> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(BookResponseDTO.builder()
+                    .id((long) i)
+                    .title("Book Title Number " + i)
+                    .author("Author " + (i % 500))
+                    .isbn(String.valueOf(9780000000000L + i))
+                    .available(i % 3 != 0)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return books;
+    }
+
+    byte[] encode(List<BookResponseDTO> books) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(books, BOOK_LIST, mediaType, message);
+        return message.getBodyAsBytes();
+    }
+
+    @SuppressWarnings("unchecked")
+    List<BookResponseDTO> decode(byte[] body) throws IOException {
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().setContentType(mediaType);
+        return (List<BookResponseDTO>) converter.read(BOOK_LIST, null, message);
+    }
+}
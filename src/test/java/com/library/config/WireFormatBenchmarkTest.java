@@ -0,0 +1,99 @@
+package com.library.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.library.dto.BookResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures encoding and decoding cost and payload size of JSON, Smile and CBOR through the application's
+ * converters. Each format is warmed up before being timed over several rounds, and the median round is
+ * reported, so the numbers are comparable between formats on one machine.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Ploadtest}. Settings are read from the
+ * {@code loadtest.wire-format.*} system properties and the report is written to
+ * {@code target/wire-format-report.json}.
+ */
+@Tag("loadtest")
+class WireFormatBenchmarkTest {
+
+    private static final int BOOKS = Integer.getInteger("loadtest.wire-format.books", 1_000);
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("loadtest.wire-format.warmup-iterations", 500);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.wire-format.iterations", 200);
+    private static final int ROUNDS = Integer.getInteger("loadtest.wire-format.rounds", 5);
+    private static final Path REPORT = Path.of(System.getProperty("loadtest.wire-format.report",
+            "target/wire-format-report.json"));
+
+    private long sink;
+
+    @Test
+    @DisplayName("Should report time per operation and payload size of every wire format")
+    @SuppressWarnings("unchecked")
+    void wireFormats_ShouldProduceReport() throws Exception {
+        List<BookResponseDTO> books = WireFormat.books(BOOKS);
+        Map<String, Object> formats = new LinkedHashMap<>();
+
+        WireFormat.contextRunner().run(context -> {
+            for (WireFormat format : WireFormat.all(context)) {
+                byte[] body = format.encode(books);
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("bytes", body.length);
+                result.put("encodeMicrosPerOp", measure(() -> sink += format.encode(books).length));
+                result.put("decodeMicrosPerOp", measure(() -> sink += format.decode(body).size()));
+                formats.put(format.name(), result);
+            }
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("books", BOOKS);
+        report.put("iterations", ITERATIONS);
+        report.put("rounds", ROUNDS);
+        report.put("formats", formats);
+        if (REPORT.getParent() != null) {
+            Files.createDirectories(REPORT.getParent());
+        }
+        ObjectMapper writer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        writer.writeValue(REPORT.toFile(), report);
+        System.out.println(writer.writeValueAsString(report));
+
+        assertEquals(3, formats.size());
+        assertTrue(sink > 0);
+        formats.values().forEach(result ->
+                assertTrue((double) ((Map<String, Object>) result).get("encodeMicrosPerOp") > 0));
+    }
+
+    /**
+     * Median over {@link #ROUNDS} rounds of the mean time per operation, in microseconds.
+     */
+    private static double measure(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        double[] rounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                operation.run();
+            }
+            rounds[round] = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+        }
+        Arrays.sort(rounds);
+        return Math.round(rounds[ROUNDS / 2] * 10) / 10.0;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,51 @@
+package com.library.config;
+
+import com.library.dto.BookResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the payload size of the binary wire formats against JSON for a large list response
+ * and checks that they round-trip without loss, using the application's converters.
+ * Encoding and decoding cost is measured by {@link WireFormatBenchmarkTest}.
+ */
+class WireFormatTest {
+
+    private final List<BookResponseDTO> books = WireFormat.books(10_000);
+
+    @Test
+    @DisplayName("Binary formats should produce smaller payloads than JSON for list responses")
+    void binaryFormats_ShouldBeSmallerThanJson() {
+        WireFormat.contextRunner().run(context -> {
+            // Given
+            List<WireFormat> formats = WireFormat.all(context);
+
+            // When
+            int jsonSize = formats.get(0).encode(books).length;
+            int smileSize = formats.get(1).encode(books).length;
+            int cborSize = formats.get(2).encode(books).length;
+
+            // Then
+            assertTrue(smileSize < jsonSize);
+            assertTrue(cborSize < jsonSize);
+        });
+    }
+
+    @Test
+    @DisplayName("Every wire format should round-trip list responses without loss")
+    void wireFormats_ShouldRoundTrip() {
+        WireFormat.contextRunner().run(context -> {
+            for (WireFormat format : WireFormat.all(context)) {
+                // When
+                List<BookResponseDTO> decoded = format.decode(format.encode(books));
+
+                // Then
+                assertEquals(books, decoded, format.name());
+            }
+        });
+    }
+}
@@ -0,0 +1,183 @@
+package com.library.controller;
+
+import com.library.config.WireFormatConfig;
+import com.library.dto.BookBatchResponseDTO;
+import com.library.dto.BookResponseDTO;
+import com.library.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Request mapping, content negotiation and error mapping of {@link BookController}.
+ * The servlet filters are left out; they are tested on their own.
+ */
+@WebMvcTest(controllers = BookController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = OncePerRequestFilter.class))
+@Import({BookStreamWriter.class, WireFormatConfig.class})
+class BookControllerMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Should stream the catalog in the requested binary format")
+    void getAllBooks_WithCborAccept_ShouldStreamCbor() throws Exception {
+        // Given
+        streamOneBook();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/books").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    @DisplayName("Should stream the catalog as JSON when any type is accepted")
+    void getAllBooks_WithWildcardAccept_ShouldStreamJson() throws Exception {
+        // Given
+        streamOneBook();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/books").accept(MediaType.ALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].title").value("The Great Gatsby"));
+    }
+
+    @Test
+    @DisplayName("Should stream in the accepted format with the highest quality")
+    void getAllBooks_WithWeightedAccept_ShouldStreamPreferredFormat() throws Exception {
+        // Given
+        streamOneBook();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/books")
+                        .header("Accept", "application/json;q=0.5, application/x-jackson-smile;q=0.9, */*;q=0.1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormatConfig.APPLICATION_SMILE));
+    }
+
+    @Test
+    @DisplayName("Should answer 406 when no supported format is accepted")
+    void getAllBooks_WithUnsupportedAccept_ShouldReturnNotAcceptable() throws Exception {
+        mockMvc.perform(get("/api/books").accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/api/books").param("ids", "1").accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should route lookups by ID list to the batch lookup instead of the catalog stream")
+    void getBooksByIds_WithIdsParameter_ShouldUseBatchLookup() throws Exception {
+        // Given
+        when(bookService.getBooksByIds(List.of(3L, 1L))).thenReturn(batchOf(3L, 1L));
+
+        // When & Then
+        mockMvc.perform(get("/api/books").param("ids", "3,1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.books[0].id").value(3))
+                .andExpect(jsonPath("$.missingIds[0]").value(1));
+        verify(bookService, never()).streamAllBooks(any());
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for a non-numeric ID instead of an internal error")
+    void getBooksByIds_WithNonNumericId_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/books").param("ids", "1,abc").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid value for 'ids': 1,abc"));
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should look up the posted IDs in request order")
+    void batchGetBooks_WithIds_ShouldReturnBooks() throws Exception {
+        // Given
+        when(bookService.getBooksByIds(List.of(3L, 1L))).thenReturn(batchOf(3L, 1L));
+
+        // When & Then
+        mockMvc.perform(post("/api/books/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[3,1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].id").value(3));
+    }
+
+    @Test
+    @DisplayName("Should reject empty, null and malformed batch lookups with 400")
+    void batchGetBooks_WithInvalidRequest_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/books/batch-get").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.ids").value("Book IDs are required"));
+        mockMvc.perform(post("/api/books/batch-get").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[1,null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['ids[1]']").value("Book IDs cannot be null"));
+        mockMvc.perform(post("/api/books/batch-get").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[\"abc\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Malformed request body"));
+        verifyNoInteractions(bookService);
+    }
+
+    private static BookBatchResponseDTO batchOf(Long foundId, Long missingId) {
+        return BookBatchResponseDTO.builder()
+                .requested(2)
+                .books(List.of(BookResponseDTO.builder().id(foundId).title("Dune").author("Frank Herbert").build()))
+                .missingIds(List.of(missingId))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamOneBook() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<BookResponseDTO>>getArgument(0).accept(BookResponseDTO.builder()
+                    .id(1L)
+                    .title("The Great Gatsby")
+                    .author("F. Scott Fitzgerald")
+                    .available(true)
+                    .build());
+            return null;
+        }).when(bookService).streamAllBooks(any(Consumer.class));
+    }
+}
@@ -1,26 +1,44 @@
 package com.library.service;
 
+import com.library.availability.AvailabilityWriteBehind;
+import com.library.cluster.BookChangeEvent;
+import com.library.cluster.ClusterEventBus;
+import com.library.dto.BookBatchResponseDTO;
 import com.library.dto.BookDTO;
 import com.library.dto.BookResponseDTO;
+import com.library.dto.BulkBookFilter;
+import com.library.dto.BulkDeleteRequestDTO;
+import com.library.dto.BulkOperationResponseDTO;
+import com.library.dto.BulkUpdateRequestDTO;
 import com.library.exception.BookNotFoundException;
 import com.library.exception.DuplicateBookException;
 import com.library.model.Book;
 import com.library.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +47,27 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private BulkOperationProperties bulkProperties = new BulkOperationProperties();
+
+    @Mock
+    private CatalogStatistics catalogStatistics;
+
+    @Mock
+    private AvailabilityWriteBehind writeBehind;
+
+    @Mock
+    private ClusterEventBus clusterEvents;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -56,22 +95,27 @@ class BookServiceTest {
                 .isbn("9780743273565")
                 .available(true)
                 .build();
+
+        // Write-behind is disabled unless a test enables it, so the persisted availability applies
+        lenient().when(writeBehind.availability(any(), anyBoolean()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
     }
 
     @Test
-    @DisplayName("Should return all books when getAllBooks is called")
-    void getAllBooks_ShouldReturnAllBooks() {
+    @DisplayName("Should stream every book to the consumer and detach it afterwards")
+    void streamAllBooks_ShouldStreamAndDetachEachBook() {
         // Given
-        when(bookRepository.findAll()).thenReturn(List.of(sampleBook));
+        when(bookRepository.streamAllBy()).thenReturn(Stream.of(sampleBook));
+        List<BookResponseDTO> streamed = new ArrayList<>();
 
         // When
-        List<BookResponseDTO> result = bookService.getAllBooks();
+        bookService.streamAllBooks(streamed::add);
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("The Great Gatsby", result.get(0).getTitle());
-        verify(bookRepository, times(1)).findAll();
+        assertEquals(1, streamed.size());
+        assertEquals("The Great Gatsby", streamed.get(0).getTitle());
+        verify(entityManager, times(1)).detach(sampleBook);
+        verify(bookRepository, never()).findAll();
     }
 
     @Test
@@ -101,18 +145,48 @@ class BookServiceTest {
         verify(bookRepository, times(1)).findById(999L);
     }
 
+    @Test
+    @DisplayName("Should return books in request order in chunks and report missing IDs")
+    void getBooksByIds_ShouldPreserveOrderAndReportMissing() {
+        // Given
+        bulkProperties.setChunkSize(2);
+        Book second = Book.builder().id(2L).title("1984").author("George Orwell").available(false).build();
+        when(bookRepository.findAllById(List.of(2L, 99L))).thenReturn(List.of(second));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(sampleBook));
+
+        // When
+        BookBatchResponseDTO result = bookService.getBooksByIds(List.of(2L, 99L, 2L, 1L));
+
+        // Then
+        assertEquals(3, result.getRequested());
+        assertEquals(List.of(2L, 1L), result.getBooks().stream().map(BookResponseDTO::getId).toList());
+        assertEquals(List.of(99L), result.getMissingIds());
+    }
+
+    @Test
+    @DisplayName("Should reject batch lookups exceeding the size limit")
+    void getBooksByIds_ExceedingLimit_ShouldThrowException() {
+        // Given
+        bulkProperties.setMaxBatchGetItems(2);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksByIds(List.of(1L, 2L, 3L)));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksByIds(List.of()));
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     @DisplayName("Should return available status when book is available")
     void checkBookAvailability_ForAvailableBook_ShouldReturnAvailableStatus() {
         // Given
-        when(bookRepository.findByTitle("The Great Gatsby")).thenReturn(Optional.of(sampleBook));
+        when(bookRepository.findByTitleKey("the great gatsby")).thenReturn(Optional.of(sampleBook));
 
         // When
         String result = bookService.checkBookAvailability("The Great Gatsby");
 
         // Then
         assertEquals("The book 'The Great Gatsby' is available.", result);
-        verify(bookRepository, times(1)).findByTitle("The Great Gatsby");
+        verify(bookRepository, times(1)).findByTitleKey("the great gatsby");
     }
 
     @Test
@@ -125,35 +199,35 @@ class BookServiceTest {
                 .author("George Orwell")
                 .available(false)
                 .build();
-        when(bookRepository.findByTitle("1984")).thenReturn(Optional.of(checkedOutBook));
+        when(bookRepository.findByTitleKey("1984")).thenReturn(Optional.of(checkedOutBook));
 
         // When
         String result = bookService.checkBookAvailability("1984");
 
         // Then
         assertEquals("The book '1984' is checked out.", result);
-        verify(bookRepository, times(1)).findByTitle("1984");
+        verify(bookRepository, times(1)).findByTitleKey("1984");
     }
 
     @Test
     @DisplayName("Should return not in collection status when book does not exist")
     void checkBookAvailability_ForNonExistentBook_ShouldReturnNotInCollectionStatus() {
         // Given
-        when(bookRepository.findByTitle("Unknown Book")).thenReturn(Optional.empty());
+        when(bookRepository.findByTitleKey("unknown book")).thenReturn(Optional.empty());
 
         // When
         String result = bookService.checkBookAvailability("Unknown Book");
 
         // Then
         assertEquals("The book 'Unknown Book' is not in the library's collection.", result);
-        verify(bookRepository, times(1)).findByTitle("Unknown Book");
+        verify(bookRepository, times(1)).findByTitleKey("unknown book");
     }
 
     @Test
     @DisplayName("Should add book successfully when valid data is provided")
     void addBook_WithValidData_ShouldAddSuccessfully() {
         // Given
-        when(bookRepository.existsByTitle(anyString())).thenReturn(false);
+        when(bookRepository.existsByTitleKey(anyString())).thenReturn(false);
         when(bookRepository.existsByIsbn(anyString())).thenReturn(false);
         when(bookRepository.save(any(Book.class))).thenReturn(sampleBook);
 
@@ -170,19 +244,75 @@ class BookServiceTest {
     @DisplayName("Should throw DuplicateBookException when adding book with existing title")
     void addBook_WithExistingTitle_ShouldThrowException() {
         // Given
-        when(bookRepository.existsByTitle("The Great Gatsby")).thenReturn(true);
+        when(bookRepository.existsByTitleKey("the great gatsby")).thenReturn(true);
 
         // When & Then
         assertThrows(DuplicateBookException.class, () -> bookService.addBook(sampleBookDTO));
         verify(bookRepository, never()).save(any(Book.class));
     }
 
+    @Test
+    @DisplayName("Should find a book regardless of title case and spacing")
+    void checkBookAvailability_WithDifferentCaseAndSpacing_ShouldFindBook() {
+        // Given
+        when(bookRepository.findByTitleKey("the great gatsby")).thenReturn(Optional.of(sampleBook));
+
+        // When
+        String result = bookService.checkBookAvailability("  THE GREAT   Gatsby ");
+
+        // Then
+        assertEquals("The book '  THE GREAT   Gatsby ' is available.", result);
+    }
+
+    @Test
+    @DisplayName("Should detect a duplicate ISBN entered in hyphenated ISBN-10 form")
+    void addBook_WithHyphenatedIsbn10OfExistingBook_ShouldThrowException() {
+        // Given
+        sampleBookDTO.setIsbn("0-7432-7356-7");
+        when(bookRepository.existsByTitleKey("the great gatsby")).thenReturn(false);
+        when(bookRepository.existsByIsbn("9780743273565")).thenReturn(true);
+
+        // When & Then
+        assertThrows(DuplicateBookException.class, () -> bookService.addBook(sampleBookDTO));
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    @DisplayName("Should store the normalized title key and canonical ISBN of a new book")
+    void addBook_ShouldStoreNormalizedKeys() {
+        // Given
+        sampleBookDTO.setIsbn("0-7432-7356-7");
+        when(bookRepository.save(any(Book.class))).thenReturn(sampleBook);
+
+        // When
+        bookService.addBook(sampleBookDTO);
+
+        // Then
+        verify(bookRepository).save(argThat(book -> "the great gatsby".equals(book.getTitleKey())
+                && "9780743273565".equals(book.getIsbn())));
+    }
+
+    @Test
+    @DisplayName("Should allow changing only the case of a book's own title")
+    void updateBookTitle_WithCaseChangeOnly_ShouldNotReportDuplicate() {
+        // Given
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(sampleBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BookResponseDTO result = bookService.updateBookTitle(1L, "The great gatsby");
+
+        // Then
+        assertEquals("The great gatsby", result.getTitle());
+        verify(bookRepository, never()).existsByTitleKey(anyString());
+    }
+
     @Test
     @DisplayName("Should update book title successfully when valid data is provided")
     void updateBookTitle_WithValidData_ShouldUpdateSuccessfully() {
         // Given
-        when(bookRepository.findByTitle("The Great Gatsby")).thenReturn(Optional.of(sampleBook));
-        when(bookRepository.existsByTitle("The Greatest Gatsby")).thenReturn(false);
+        when(bookRepository.findByTitleKey("the great gatsby")).thenReturn(Optional.of(sampleBook));
+        when(bookRepository.existsByTitleKey("the greatest gatsby")).thenReturn(false);
         
         Book updatedBook = Book.builder()
                 .id(1L)
@@ -209,7 +339,7 @@ class BookServiceTest {
     @DisplayName("Should throw BookNotFoundException when updating non-existent book title")
     void updateBookTitle_WithNonExistentOldTitle_ShouldThrowException() {
         // Given
-        when(bookRepository.findByTitle("Non-existent Book")).thenReturn(Optional.empty());
+        when(bookRepository.findByTitleKey("non-existent book")).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(BookNotFoundException.class, 
@@ -221,8 +351,8 @@ class BookServiceTest {
     @DisplayName("Should throw DuplicateBookException when updating to existing title")
     void updateBookTitle_WithExistingNewTitle_ShouldThrowException() {
         // Given
-        when(bookRepository.findByTitle("The Great Gatsby")).thenReturn(Optional.of(sampleBook));
-        when(bookRepository.existsByTitle("1984")).thenReturn(true);
+        when(bookRepository.findByTitleKey("the great gatsby")).thenReturn(Optional.of(sampleBook));
+        when(bookRepository.existsByTitleKey("1984")).thenReturn(true);
 
         // When & Then
         assertThrows(DuplicateBookException.class, 
@@ -234,7 +364,7 @@ class BookServiceTest {
     @DisplayName("Should delete book successfully when valid ID is provided")
     void deleteBook_WithValidId_ShouldDeleteSuccessfully() {
         // Given
-        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(sampleBook));
         doNothing().when(bookRepository).deleteById(1L);
 
         // When
@@ -242,13 +372,16 @@ class BookServiceTest {
 
         // Then
         verify(bookRepository, times(1)).deleteById(1L);
+        verify(catalogStatistics, times(1)).bookRemoved("F. Scott Fitzgerald", true);
+        verify(clusterEvents, times(1)).publish(BookChangeEvent.removed(List.of(1L),
+                List.of(new BookChangeEvent.CountChange("F. Scott Fitzgerald", true, -1))));
     }
 
     @Test
     @DisplayName("Should throw BookNotFoundException when deleting non-existent book")
     void deleteBook_WithInvalidId_ShouldThrowException() {
         // Given
-        when(bookRepository.existsById(999L)).thenReturn(false);
+        when(bookRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(BookNotFoundException.class, () -> bookService.deleteBook(999L));
@@ -259,6 +392,7 @@ class BookServiceTest {
     @DisplayName("Should toggle availability successfully")
     void toggleAvailability_ShouldToggleSuccessfully() {
         // Given
+        runTransactionsInline();
         when(bookRepository.findById(1L)).thenReturn(Optional.of(sampleBook));
         
         Book toggledBook = Book.builder()
@@ -280,5 +414,168 @@ class BookServiceTest {
         assertNotNull(result);
         assertFalse(result.isAvailable());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(catalogStatistics, times(1)).availabilityChanged(false, 1);
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a toggle from the write-behind state without saving the book")
+    void toggleAvailability_WithWriteBehind_ShouldNotSave() {
+        // Given
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.<Book>toggle(eq(1L), any(), any())).thenAnswer(invocation ->
+                new AvailabilityWriteBehind.Toggle<>(invocation.<Supplier<Book>>getArgument(1).get(), false));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(sampleBook));
+
+        // When
+        BookResponseDTO result = bookService.toggleAvailability(1L);
+
+        // Then
+        assertFalse(result.isAvailable());
+        verify(bookRepository, never()).save(any(Book.class));
+        verify(transactionTemplate, never()).execute(any());
+        verify(catalogStatistics).availabilityChanged(false, 1);
+    }
+
+    @Test
+    @DisplayName("Should bulk update existing books and report missing IDs")
+    void bulkUpdateAvailability_WithIds_ShouldReportPerIdResults() {
+        // Given
+        runTransactionsInline();
+        when(bookRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+        when(bookRepository.lockIdsByAvailability(List.of(1L), true)).thenReturn(List.of(1L));
+        BulkUpdateRequestDTO request = BulkUpdateRequestDTO.builder()
+                .ids(List.of(1L, 2L, 1L))
+                .available(false)
+                .build();
+
+        // When
+        BulkOperationResponseDTO result = bookService.bulkUpdateAvailability(request);
+
+        // Then
+        assertEquals(2, result.getRequested());
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getNotFound());
+        assertEquals(BulkOperationResponseDTO.Status.UPDATED, result.getResults().get(0).status());
+        assertEquals(BulkOperationResponseDTO.Status.NOT_FOUND, result.getResults().get(1).status());
+        verify(bookRepository, times(1)).updateAvailabilityByIds(eq(List.of(1L)), eq(false), any(LocalDateTime.class));
+        verify(bookRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should report books already at the requested availability as unchanged, not updated")
+    void bulkUpdateAvailability_WithIdsAlreadyAtTarget_ShouldReportUnchanged() {
+        // Given
+        runTransactionsInline();
+        when(bookRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L));
+        when(bookRepository.lockIdsByAvailability(any(), eq(true))).thenReturn(List.of(2L));
+        when(bookRepository.updateAvailabilityByIds(eq(List.of(2L)), eq(false), any(LocalDateTime.class)))
+                .thenReturn(1);
+        BulkUpdateRequestDTO request = BulkUpdateRequestDTO.builder()
+                .ids(List.of(1L, 2L, 3L))
+                .available(false)
+                .build();
+
+        // When
+        BulkOperationResponseDTO result = bookService.bulkUpdateAvailability(request);
+
+        // Then
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(1, result.getNotFound());
+        assertEquals(List.of(new BulkOperationResponseDTO.ItemResult(1L, BulkOperationResponseDTO.Status.UNCHANGED),
+                new BulkOperationResponseDTO.ItemResult(2L, BulkOperationResponseDTO.Status.UPDATED),
+                new BulkOperationResponseDTO.ItemResult(3L, BulkOperationResponseDTO.Status.NOT_FOUND)),
+                result.getResults());
+        verify(catalogStatistics).availabilityChanged(false, 1);
+    }
+
+    @Test
+    @DisplayName("Should select only books whose availability changes when updating by filter")
+    void bulkUpdateAvailability_WithFilter_ShouldSelectOnlyBooksThatChange() {
+        // Given
+        runTransactionsInline();
+        when(bookRepository.countByFilter("George Orwell", true)).thenReturn(1L);
+        when(bookRepository.findIdsByFilter(eq("George Orwell"), eq(true), eq(Long.MIN_VALUE), anyInt()))
+                .thenReturn(List.of(3L));
+        when(bookRepository.lockIdsByAvailability(List.of(3L), true)).thenReturn(List.of(3L));
+        when(bookRepository.updateAvailabilityByIds(eq(List.of(3L)), eq(false), any(LocalDateTime.class)))
+                .thenReturn(1);
+        BulkUpdateRequestDTO request = BulkUpdateRequestDTO.builder()
+                .filter(BulkBookFilter.builder().author("George Orwell").build())
+                .available(false)
+                .build();
+
+        // When
+        BulkOperationResponseDTO result = bookService.bulkUpdateAvailability(request);
+
+        // Then
+        assertEquals(1, result.getSucceeded());
+        assertEquals(List.of(new BulkOperationResponseDTO.ItemResult(3L, BulkOperationResponseDTO.Status.UPDATED)),
+                result.getResults());
+        verify(bookRepository, never()).findIdsByFilter(any(), eq(null), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should update nothing when the filter selects books already at the target availability")
+    void bulkUpdateAvailability_WithFilterOnTargetAvailability_ShouldUpdateNothing() {
+        // Given
+        BulkUpdateRequestDTO request = BulkUpdateRequestDTO.builder()
+                .filter(BulkBookFilter.builder().available(false).build())
+                .available(false)
+                .build();
+
+        // When
+        BulkOperationResponseDTO result = bookService.bulkUpdateAvailability(request);
+
+        // Then
+        assertEquals(0, result.getRequested());
+        assertTrue(result.getResults().isEmpty());
+        verify(bookRepository, never()).updateAvailabilityByIds(any(), anyBoolean(), any());
+    }
+
+    @Test
+    @DisplayName("Should bulk delete books matching a filter chunk by chunk")
+    void bulkDelete_WithFilter_ShouldDeleteInChunks() {
+        // Given
+        runTransactionsInline();
+        bulkProperties.setChunkSize(2);
+        when(bookRepository.countByFilter("George Orwell", null)).thenReturn(3L);
+        when(bookRepository.findIdsByFilter(eq("George Orwell"), eq(null), eq(Long.MIN_VALUE), eq(2)))
+                .thenReturn(List.of(2L, 5L));
+        when(bookRepository.findIdsByFilter(eq("George Orwell"), eq(null), eq(5L), eq(2)))
+                .thenReturn(List.of(9L));
+        when(bookRepository.findIdsByFilter(eq("George Orwell"), eq(null), eq(9L), eq(2)))
+                .thenReturn(List.of());
+        BulkDeleteRequestDTO request = BulkDeleteRequestDTO.builder()
+                .filter(BulkBookFilter.builder().author("George Orwell").build())
+                .build();
+
+        // When
+        BulkOperationResponseDTO result = bookService.bulkDelete(request);
+
+        // Then
+        assertEquals(3, result.getSucceeded());
+        verify(bookRepository, times(1)).deleteAllByIdIn(List.of(2L, 5L));
+        verify(bookRepository, times(1)).deleteAllByIdIn(List.of(9L));
+    }
+
+    @Test
+    @DisplayName("Should reject bulk operations exceeding the size limit")
+    void bulkDelete_ExceedingLimit_ShouldThrowException() {
+        // Given
+        bulkProperties.setMaxItems(1);
+        BulkDeleteRequestDTO request = BulkDeleteRequestDTO.builder()
+                .ids(List.of(1L, 2L))
+                .build();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> bookService.bulkDelete(request));
+        verify(bookRepository, never()).deleteAllByIdIn(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
     }
-}
\ No newline at end of file
+}
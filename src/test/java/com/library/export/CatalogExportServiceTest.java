@@ -0,0 +1,149 @@
+package com.library.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.dto.BookResponseDTO;
+import com.library.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogExportServiceTest {
+
+    private static final int BOOK_COUNT = 2_500;
+
+    @Mock
+    private BookService bookService;
+
+    @TempDir
+    private Path exportDirectory;
+
+    private ExportProperties properties;
+    private CatalogExportService exportService;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExportProperties();
+        // Far smaller than the export, so the buffer must be drained many times
+        properties.setBufferSize(256);
+        exportService = new CatalogExportService(bookService, objectMapper, properties);
+    }
+
+    @Test
+    @DisplayName("Should export every book as escaped CSV with a header row")
+    void export_AsCsv_ShouldWriteHeaderAndAllRows() throws Exception {
+        // Given
+        stubCatalog();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        ExportJob job = exportService.export(ExportFormat.CSV, Channels.newChannel(output), "test");
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(BOOK_COUNT + 1, lines.length);
+        assertEquals("id,title,author,isbn,available,created_at,updated_at", lines[0]);
+        assertEquals("1,\"Title, with \"\"quotes\"\"\",Author 1,,true,,", lines[1]);
+        assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(BOOK_COUNT, job.toDTO().getRowsWritten());
+        assertEquals(output.size(), job.toDTO().getBytesWritten());
+    }
+
+    @Test
+    @DisplayName("Should export every book as one JSON object per line")
+    void export_AsNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        // Given
+        stubCatalog();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        exportService.export(ExportFormat.NDJSON, Channels.newChannel(output), "test");
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(BOOK_COUNT, lines.length);
+        assertEquals(BOOK_COUNT, objectMapper.readTree(lines[BOOK_COUNT - 1]).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Should queue file exports beyond the running ones and reject those beyond the queue")
+    void startFileExport_WhenSlotsAndQueueTaken_ShouldQueueThenReject() throws Exception {
+        // Given
+        properties.setDirectory(exportDirectory);
+        properties.setMaxConcurrentJobs(1);
+        properties.setMaxQueuedJobs(1);
+        exportService = new CatalogExportService(bookService, objectMapper, properties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(bookService).streamAllBooks(any());
+
+        // When
+        ExportJob running = exportService.startFileExport(ExportFormat.CSV);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ExportJob queued = exportService.startFileExport(ExportFormat.CSV);
+
+        // Then
+        assertEquals(ExportJob.Status.RUNNING, running.getStatus());
+        assertEquals(ExportJob.Status.QUEUED, queued.getStatus());
+        assertNull(queued.toDTO().getStartedAt());
+        assertThrows(ExportQueueFullException.class, () -> exportService.startFileExport(ExportFormat.CSV));
+        assertEquals(2, exportService.getJobs().size());
+        try (Stream<Path> files = Files.list(exportDirectory)) {
+            assertEquals(2, files.count());
+        }
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queued.getStatus() != ExportJob.Status.COMPLETED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(ExportJob.Status.COMPLETED, queued.getStatus());
+        exportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported export formats")
+    void fromName_WithUnknownFormat_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromName("xlsx"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromName("ndjson"));
+    }
+
+    private void stubCatalog() {
+        doAnswer(invocation -> {
+            Consumer<BookResponseDTO> consumer = invocation.getArgument(0);
+            for (long id = 1; id <= BOOK_COUNT; id++) {
+                consumer.accept(BookResponseDTO.builder()
+                        .id(id)
+                        .title(id == 1 ? "Title, with \"quotes\"" : "Title " + id)
+                        .author("Author " + id)
+                        .available(true)
+                        .build());
+            }
+            return null;
+        }).when(bookService).streamAllBooks(any());
+    }
+}
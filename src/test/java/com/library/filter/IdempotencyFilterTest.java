@@ -0,0 +1,142 @@
+package com.library.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.idempotency.IdempotencyProperties;
+import com.library.idempotency.InMemoryIdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyFilter filter;
+    private int responseStatus;
+
+    @BeforeEach
+    void setUp() {
+        filter = filter(10);
+        responseStatus = 201;
+    }
+
+    @Test
+    @DisplayName("Should execute the first request and replay its response for a retry with the same body")
+    void doFilter_WithRepeatedKey_ShouldReplayResponse() throws Exception {
+        // When
+        MockHttpServletResponse first = send("key-1", "{\"title\":\"1984\"}");
+        MockHttpServletResponse retry = send("key-1", "{\"title\":\"1984\"}");
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(201, first.getStatus());
+        assertEquals("echo {\"title\":\"1984\"}", first.getContentAsString());
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different body instead of replaying the first response")
+    void doFilter_WithRepeatedKeyAndDifferentBody_ShouldReturnUnprocessable() throws Exception {
+        // Given
+        send("key-1", "{\"title\":\"1984\"}");
+
+        // When
+        MockHttpServletResponse response = send("key-1", "{\"title\":\"Brave New World\"}");
+
+        // Then
+        assertEquals(422, response.getStatus());
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should not record server errors, so the request can be retried")
+    void doFilter_WithServerError_ShouldReleaseKey() throws Exception {
+        // Given
+        responseStatus = 503;
+        send("key-1", "{}");
+
+        // When
+        responseStatus = 201;
+        MockHttpServletResponse retry = send("key-1", "{}");
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should answer 409 for a retry while the first request is still running")
+    void doFilter_WithKeyInFlight_ShouldReturnConflict() throws Exception {
+        // Given
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain chain = (request, response) -> nested[0] = send("key-1", "{}");
+
+        // When
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(409, nested[0].getStatus());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when requests in flight fill the store")
+    void doFilter_WhenStoreFull_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        filter = filter(1);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain chain = (request, response) -> nested[0] = send("key-2", "{}");
+
+        // When
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader("Retry-After"));
+    }
+
+    private MockHttpServletResponse send(String key, String body) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, (request, servletResponse) -> {
+            executions.incrementAndGet();
+            String received = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            ((HttpServletResponse) servletResponse).setStatus(responseStatus);
+            servletResponse.setContentType("text/plain");
+            servletResponse.getOutputStream().write(("echo " + received).getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/books");
+        request.setServletPath("/api/books");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private IdempotencyFilter filter(int maxEntries) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        return new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofHours(1), maxEntries, Clock.systemUTC()),
+                properties, objectMapper);
+    }
+}
@@ -0,0 +1,92 @@
+package com.library.filter;
+
+import com.library.model.Book;
+import com.library.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * N+1 detection with {@code fail-on-n-plus-one}, as tests are meant to run it. The failing request loads
+ * books one row at a time, the classic N+1 pattern. One chunk per book makes batch lookups repeat their
+ * statement as well, which their handlers declare and the detection therefore skips.
+ * Requests set their servlet path, as the servlet container does, since the filters match on it.
+ */
+@SpringBootTest(properties = {
+        "library.sql.fail-on-n-plus-one=true",
+        "library.sql.repeated-statement-threshold=2",
+        "library.bulk.chunk-size=1"
+})
+@AutoConfigureMockMvc
+@Import(QueryCountFilterTest.PerRowLoadingController.class)
+class QueryCountFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should fail a request loading books row by row with an error response instead of a partial success")
+    void request_LoadingRowByRow_ShouldFailWithServerError() throws Exception {
+        mockMvc.perform(get("/api/test/titles").servletPath("/api/test/titles").param("ids", "1", "2"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status").value(500));
+    }
+
+    @Test
+    @DisplayName("Should let requests below the thresholds through")
+    void request_BelowThresholds_ShouldSucceed() throws Exception {
+        mockMvc.perform(get("/api/test/titles").servletPath("/api/test/titles").param("ids", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Should not check a batch lookup by query parameter, which repeats its statement once per chunk")
+    void request_BatchLookupByQueryParameter_ShouldSucceed() throws Exception {
+        mockMvc.perform(get("/api/books").servletPath("/api/books").param("ids", "1", "2", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("Should not check a batch lookup by request body, which repeats its statement once per chunk")
+    void request_BatchLookupByBody_ShouldSucceed() throws Exception {
+        mockMvc.perform(post("/api/books/batch-get").servletPath("/api/books/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.length()").value(3));
+    }
+
+    /**
+     * Looks up each requested book with its own query.
+     */
+    @RestController
+    @RequiredArgsConstructor
+    static class PerRowLoadingController {
+
+        private final BookRepository bookRepository;
+
+        @GetMapping("/api/test/titles")
+        List<String> titles(@RequestParam List<Long> ids) {
+            return ids.stream()
+                    .map(id -> bookRepository.findById(id).map(Book::getTitle).orElse(null))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.library.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.ratelimit.AdaptiveConcurrencyLimiter;
+import com.library.ratelimit.ClientRateLimiter;
+import com.library.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private RateLimitProperties properties;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setCheap(new RateLimitProperties.Budget(2, 0.001));
+        properties.setExpensive(new RateLimitProperties.Budget(1, 0.001));
+        properties.setBatch(new RateLimitProperties.Budget(1, 0.001));
+        properties.getConcurrency().setInitialLimit(1);
+        properties.getConcurrency().setMinLimit(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        filter = new RateLimitFilter(new ClientRateLimiter(properties, meterRegistry), concurrencyLimiter,
+                properties, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should admit requests within the budget and report what is left")
+    void doFilter_WithinBudget_ShouldPassRequestOn() throws Exception {
+        // When
+        MockHttpServletResponse response = send(request("GET", "/api/books/1", "client-a"));
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("1", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals(1, executions.get());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the client's budget is spent")
+    void doFilter_WhenBudgetSpent_ShouldReturnTooManyRequests() throws Exception {
+        // Given
+        send(request("GET", "/api/books/1", "client-a"));
+        send(request("GET", "/api/books/1", "client-a"));
+
+        // When
+        MockHttpServletResponse response = send(request("GET", "/api/books/1", "client-a"));
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) >= 1);
+        assertTrue(response.getContentAsString().contains("Rate limit exceeded"));
+        assertEquals(2, executions.get());
+        assertEquals(200, send(request("GET", "/api/books/1", "client-b")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should charge the full catalog read against the expensive budget")
+    void doFilter_OnExpensiveEndpoint_ShouldUseExpensiveBudget() throws Exception {
+        // Given
+        send(request("GET", "/api/books", "client-a"));
+
+        // When & Then
+        assertEquals(429, send(request("GET", "/api/books", "client-a")).getStatus());
+        assertEquals(200, send(request("GET", "/api/books/1", "client-a")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should charge lookups by ID list in either form against the batch budget")
+    void doFilter_OnBatchLookup_ShouldUseBatchBudget() throws Exception {
+        // Given
+        MockHttpServletRequest byQuery = request("GET", "/api/books", "client-a");
+        byQuery.setParameter("ids", "1,2,3");
+        send(byQuery);
+
+        // When & Then
+        assertEquals(429, send(request("POST", "/api/books/batch-get", "client-a")).getStatus());
+        assertEquals(200, send(request("GET", "/api/books/1", "client-a")).getStatus());
+        assertEquals(200, send(request("GET", "/api/books", "client-a")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the concurrency limit is reached")
+    void doFilter_WhenConcurrencyLimitReached_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain chain = (request, response) -> nested[0] = send(request("GET", "/api/books/2", "client-b"));
+
+        // When
+        filter.doFilter(request("GET", "/api/books/1", "client-a"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader("Retry-After"));
+        assertEquals(1, concurrencyLimiter.getShedCount());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should not limit requests outside the API")
+    void doFilter_OutsideApi_ShouldNotLimit() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send(request("GET", "/actuator/health", "client-a")).getStatus());
+        }
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> executions.incrementAndGet());
+        return response;
+    }
+
+    private MockHttpServletRequest request(String method, String path, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.addHeader(properties.getApiKeyHeader(), apiKey);
+        return request;
+    }
+}
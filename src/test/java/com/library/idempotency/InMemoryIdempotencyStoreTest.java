@@ -0,0 +1,140 @@
+package com.library.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryIdempotencyStoreTest {
+
+    private MutableClock clock;
+    private InMemoryIdempotencyStore store;
+    private final StoredResponse response = new StoredResponse(201, "application/json", "{\"id\":1}".getBytes(), "hash");
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        store = new InMemoryIdempotencyStore(Duration.ofMinutes(10), 2, clock);
+    }
+
+    @Test
+    @DisplayName("Should replay the completed response for a key")
+    void complete_ShouldMakeResponseAvailable() {
+        // Given
+        assertTrue(store.reserve("key-1"));
+
+        // When
+        store.complete("key-1", response);
+
+        // Then
+        Optional<StoredResponse> found = store.find("key-1");
+        assertTrue(found.isPresent());
+        assertEquals(201, found.get().status());
+    }
+
+    @Test
+    @DisplayName("Should not reserve a key that is already in flight")
+    void reserve_WhenKeyInFlight_ShouldReturnFalse() {
+        // Given
+        assertTrue(store.reserve("key-1"));
+
+        // When & Then
+        assertFalse(store.reserve("key-1"));
+        assertTrue(store.find("key-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should allow a released key to be reserved again")
+    void release_ShouldAllowRetry() {
+        // Given
+        store.reserve("key-1");
+
+        // When
+        store.release("key-1");
+
+        // Then
+        assertTrue(store.reserve("key-1"));
+    }
+
+    @Test
+    @DisplayName("Should forget responses once their TTL has elapsed")
+    void find_AfterTtl_ShouldReturnEmpty() {
+        // Given
+        store.reserve("key-1");
+        store.complete("key-1", response);
+
+        // When
+        clock.advance(Duration.ofMinutes(10));
+
+        // Then
+        assertTrue(store.find("key-1").isEmpty());
+        assertTrue(store.reserve("key-1"));
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest key when the store is full")
+    void reserve_WhenFull_ShouldEvictOldestKey() {
+        // Given
+        store.complete("key-1", response);
+        store.complete("key-2", response);
+
+        // When
+        store.complete("key-3", response);
+
+        // Then
+        assertEquals(2, store.size());
+        assertTrue(store.find("key-1").isEmpty());
+        assertTrue(store.find("key-3").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should never evict the reservation of a request still in flight")
+    void reserve_WhenFull_ShouldKeepInFlightKeys() {
+        // Given
+        store.reserve("key-1");
+        store.complete("key-2", response);
+
+        // When
+        assertTrue(store.reserve("key-3"));
+
+        // Then
+        assertFalse(store.reserve("key-1"));
+        assertTrue(store.find("key-2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse new reservations when requests in flight fill the store")
+    void reserve_WhenFullOfInFlightKeys_ShouldThrowException() {
+        // Given
+        store.reserve("key-1");
+        store.reserve("key-2");
+
+        // When & Then
+        assertThrows(IdempotencyStoreFullException.class, () -> store.reserve("key-3"));
+        store.complete("key-1", response);
+        assertTrue(store.reserve("key-3"));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    @DisplayName("Should purge expired keys")
+    void purgeExpired_ShouldRemoveExpiredKeys() {
+        // Given
+        store.complete("key-1", response);
+        clock.advance(Duration.ofMinutes(5));
+        store.complete("key-2", response);
+        clock.advance(Duration.ofMinutes(6));
+
+        // When
+        store.purgeExpired();
+
+        // Then
+        assertEquals(1, store.size());
+        assertTrue(store.find("key-2").isPresent());
+    }
+}
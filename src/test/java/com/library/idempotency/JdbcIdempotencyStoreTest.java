@@ -0,0 +1,105 @@
+package com.library.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the store against the {@code idempotency_keys} table created by the application's schema.sql.
+ */
+class JdbcIdempotencyStoreTest {
+
+    private EmbeddedDatabase database;
+    private MutableClock clock;
+    private JdbcIdempotencyStore store;
+    private final StoredResponse response = new StoredResponse(201, "application/json", "{\"id\":1}".getBytes(), "hash");
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema.sql")
+                .build();
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        store = new JdbcIdempotencyStore(new JdbcTemplate(database), Duration.ofHours(24), Duration.ofMinutes(5), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should replay the completed response, including the request hash")
+    void complete_ShouldMakeResponseAvailable() {
+        // Given
+        assertTrue(store.reserve("key-1"));
+        assertFalse(store.reserve("key-1"));
+        assertTrue(store.find("key-1").isEmpty());
+
+        // When
+        store.complete("key-1", response);
+
+        // Then
+        Optional<StoredResponse> found = store.find("key-1");
+        assertTrue(found.isPresent());
+        assertEquals(201, found.get().status());
+        assertArrayEquals(response.body(), found.get().body());
+        assertEquals("hash", found.get().requestHash());
+    }
+
+    @Test
+    @DisplayName("Should free a reservation that was never completed once its lease runs out")
+    void reserve_AfterReservationTimeout_ShouldReserveAgain() {
+        // Given
+        assertTrue(store.reserve("key-1"));
+        clock.advance(Duration.ofMinutes(4));
+        assertFalse(store.reserve("key-1"));
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+
+        // Then
+        assertTrue(store.reserve("key-1"));
+    }
+
+    @Test
+    @DisplayName("Should keep a completed response for the full TTL")
+    void complete_ShouldExtendKeyToTtl() {
+        // Given
+        store.reserve("key-1");
+        store.complete("key-1", response);
+
+        // When
+        clock.advance(Duration.ofHours(23));
+
+        // Then
+        assertTrue(store.find("key-1").isPresent());
+        assertFalse(store.reserve("key-1"));
+    }
+
+    @Test
+    @DisplayName("Should allow a released key to be reserved again")
+    void release_ShouldAllowRetry() {
+        // Given
+        store.reserve("key-1");
+
+        // When
+        store.release("key-1");
+
+        // Then
+        assertTrue(store.reserve("key-1"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status code counts of one operation.
+ * Requests that failed without a response are recorded with status code {@code -1}.
+ */
+class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    void record(int statusCode, long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        // 503 is the adaptive concurrency limiter shedding load, which is reported apart from failures
+        if (statusCode == 503) {
+            shed.increment();
+        } else if (statusCode >= 400 || statusCode < 0) {
+            errors.increment();
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        record(-1, latencyNanos);
+    }
+
+    long requests() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, Object> toReport(double seconds) {
+        Map<String, Object> latencyMillis = new LinkedHashMap<>();
+        latencyMillis.put("p50", millis(latencies.getValueAtPercentile(50)));
+        latencyMillis.put("p99", millis(latencies.getValueAtPercentile(99)));
+        latencyMillis.put("p999", millis(latencies.getValueAtPercentile(99.9)));
+        latencyMillis.put("max", millis(latencies.getMaxValue()));
+        latencyMillis.put("mean", millis((long) latencies.getMean()));
+
+        Map<String, Long> codes = new LinkedHashMap<>();
+        statusCodes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> codes.put(entry.getKey() < 0 ? "io_error" : entry.getKey().toString(),
+                        entry.getValue().sum()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", requests());
+        report.put("errors", errors());
+        report.put("shed", shed.sum());
+        report.put("throughputPerSecond", Math.round(requests() / seconds * 10) / 10.0);
+        report.put("latencyMillis", latencyMillis);
+        report.put("statusCodes", codes);
+        return report;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
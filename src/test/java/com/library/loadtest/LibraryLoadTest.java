@@ -0,0 +1,40 @@
+package com.library.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the load-test harness. Excluded from the default build; run with {@code mvn test -Ploadtest}.
+ */
+@Tag("loadtest")
+class LibraryLoadTest {
+
+    @Test
+    @DisplayName("Should replay the traffic mix and write a per-endpoint latency report")
+    @SuppressWarnings("unchecked")
+    void trafficMix_ShouldProduceReport() throws Exception {
+        // Given
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        // When
+        Map<String, Object> report = new LoadTestDriver(settings).run();
+
+        // Then
+        assertTrue(Files.exists(settings.report()));
+        assertTrue((long) report.get("requests") > 0);
+
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        assertEquals(settings.mix().size(), endpoints.size());
+        endpoints.forEach((endpoint, stats) -> {
+            long requests = (long) stats.get("requests");
+            long errors = (long) stats.get("errors");
+            assertTrue(errors <= requests / 100, endpoint + " failed " + errors + " of " + requests + " requests");
+        });
+    }
+}
@@ -0,0 +1,199 @@
+package com.library.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.library.LibraryApplication;
+import com.library.seed.CatalogSeeder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Self-contained load-test driver.
+ * Starts the application on an in-memory H2 database, seeds a synthetic catalog with
+ * {@link CatalogSeeder}, replays a weighted mix of {@code /api/books} calls from concurrent clients
+ * and writes per-endpoint throughput and latency percentiles to a JSON report.
+ * <p>
+ * Run through {@code mvn test -Ploadtest} or directly via {@link #main(String[])};
+ * see {@link LoadTestSettings} for the {@code loadtest.*} system properties.
+ */
+public class LoadTestDriver {
+
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong addedBooks = new AtomicLong();
+
+    private List<Long> bookIds;
+    private List<String> bookTitles;
+    private String baseUrl;
+
+    public LoadTestDriver(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Object> report = new LoadTestDriver(LoadTestSettings.fromSystemProperties()).run();
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    /**
+     * Execute the whole run and write the report.
+     *
+     * @return The report that was written to {@link LoadTestSettings#report()}
+     */
+    public Map<String, Object> run() throws Exception {
+        try (ConfigurableApplicationContext app = startApplication()) {
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/api/books";
+
+            app.getBean(CatalogSeeder.class).seed(0, settings.catalogSize());
+            JdbcTemplate jdbcTemplate = app.getBean(JdbcTemplate.class);
+            bookIds = jdbcTemplate.queryForList("select id from books order by id", Long.class);
+            bookTitles = jdbcTemplate.queryForList("select title from books order by id", String.class);
+
+            drive(settings.warmup());
+            Instant start = Instant.now();
+            Map<Operation, EndpointStats> stats = drive(settings.duration());
+            double seconds = Duration.between(start, Instant.now()).toMillis() / 1_000.0;
+
+            Map<String, Object> report = buildReport(stats, seconds);
+            writeReport(report);
+            return report;
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(LibraryApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        // A single client address would be throttled by the per-client buckets
+                        "library.rate-limit.enabled=false")
+                .run();
+    }
+
+    private Map<Operation, EndpointStats> drive(Duration duration) throws InterruptedException {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        settings.mix().keySet().forEach(operation -> stats.put(operation, new EndpointStats()));
+
+        List<Operation> weighted = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(settings.threads());
+        for (int i = 0; i < settings.threads(); i++) {
+            clients.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = weighted.get(random.nextInt(weighted.size()));
+                    execute(operation, random, stats.get(operation));
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        return stats;
+    }
+
+    private void execute(Operation operation, ThreadLocalRandom random, EndpointStats stats) {
+        HttpRequest request = buildRequest(operation, random);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.record(response.statusCode(), System.nanoTime() - start);
+        } catch (IOException e) {
+            stats.recordFailure(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest buildRequest(Operation operation, ThreadLocalRandom random) {
+        return switch (operation) {
+            case LIST -> get(baseUrl);
+            case LOOKUP -> get(baseUrl + "/" + bookIds.get(popularIndex(random)));
+            case AVAILABILITY -> get(baseUrl + "/" + URLEncoder.encode(bookTitles.get(popularIndex(random)),
+                    StandardCharsets.UTF_8).replace("+", "%20") + "/availability");
+            case CHECKOUT -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + bookIds.get(popularIndex(random)) + "/availability"))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case ADD -> HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load Test Book " + addedBooks.incrementAndGet()
+                            + "\",\"author\":\"Load Test Author\",\"available\":true}"))
+                    .build();
+        };
+    }
+
+    /**
+     * Skewed towards the start of the catalog, so a small set of popular books receives most reads.
+     */
+    private int popularIndex(ThreadLocalRandom random) {
+        return (int) (bookIds.size() * Math.pow(random.nextDouble(), 3));
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private Map<String, Object> buildReport(Map<Operation, EndpointStats> stats, double seconds) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((operation, endpointStats) -> endpoints.put(operation.key(), endpointStats.toReport(seconds)));
+        long requests = stats.values().stream().mapToLong(EndpointStats::requests).sum();
+
+        Map<String, Object> runSettings = new LinkedHashMap<>();
+        runSettings.put("catalogSize", settings.catalogSize());
+        runSettings.put("threads", settings.threads());
+        runSettings.put("warmupSeconds", settings.warmup().toSeconds());
+        runSettings.put("mix", settings.mix().entrySet().stream()
+                .collect(LinkedHashMap::new, (map, entry) -> map.put(entry.getKey().key(), entry.getValue()), Map::putAll));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", runSettings);
+        report.put("durationSeconds", seconds);
+        report.put("requests", requests);
+        report.put("throughputPerSecond", Math.round(requests / seconds * 10) / 10.0);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        if (settings.report().getParent() != null) {
+            Files.createDirectories(settings.report().getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(settings.report().toFile(), report);
+    }
+}
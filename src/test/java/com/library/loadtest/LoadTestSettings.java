@@ -0,0 +1,47 @@
+package com.library.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load-test run, read from {@code loadtest.*} system properties.
+ *
+ * @param catalogSize Number of books seeded before the run
+ * @param warmup      Duration of the unrecorded warm-up phase
+ * @param duration    Duration of the recorded phase
+ * @param threads     Number of concurrent virtual clients
+ * @param mix         Relative weight of every operation
+ * @param report      File receiving the JSON report
+ */
+record LoadTestSettings(int catalogSize, Duration warmup, Duration duration, int threads,
+                        Map<Operation, Integer> mix, Path report) {
+
+    static final String DEFAULT_MIX = "list=1,lookup=55,availability=25,checkout=15,add=4";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.catalog-size", 10_000),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                Integer.getInteger("loadtest.threads", 16),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json")));
+    }
+
+    /**
+     * Parse a mix such as {@code lookup=60,checkout=40}; operations not listed get no traffic.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got: " + entry);
+            }
+            weights.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,31 @@
+package com.library.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Operations issued by the load-test driver, one per {@code /api/books} endpoint under test.
+ */
+enum Operation {
+
+    /** GET /api/books */
+    LIST,
+    /** GET /api/books/{id} */
+    LOOKUP,
+    /** GET /api/books/{title}/availability */
+    AVAILABILITY,
+    /** PATCH /api/books/{id}/availability */
+    CHECKOUT,
+    /** POST /api/books */
+    ADD;
+
+    String key() {
+        return name().toLowerCase();
+    }
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key().equals(name.toLowerCase()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + name));
+    }
+}
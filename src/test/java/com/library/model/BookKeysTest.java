@@ -0,0 +1,53 @@
+package com.library.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookKeysTest {
+
+    @Test
+    @DisplayName("Should fold case and collapse whitespace in title keys")
+    void titleKey_ShouldFoldCaseAndWhitespace() {
+        assertEquals("the great gatsby", BookKeys.titleKey("  The\tGreat   GATSBY \n"));
+        assertEquals(BookKeys.titleKey("The Great Gatsby"), BookKeys.titleKey("the great gatsby"));
+        assertNull(BookKeys.titleKey(null));
+    }
+
+    @Test
+    @DisplayName("Should apply compatibility normalization to title keys")
+    void titleKey_ShouldNormalizeCompatibilityCharacters() {
+        // Ligature and full-width characters fold to their plain forms
+        assertEquals("the final office", BookKeys.titleKey("The \ufb01nal O\ufb03ce"));
+        assertEquals("1984", BookKeys.titleKey("\uff11\uff19\uff18\uff14"));
+        // Non-breaking spaces count as whitespace once normalized
+        assertEquals("brave new world", BookKeys.titleKey("Brave\u00a0New\u00a0World"));
+    }
+
+    @Test
+    @DisplayName("Should convert ISBN-10 to ISBN-13 and strip separators")
+    void isbn_ShouldCanonicalizeToIsbn13() {
+        assertEquals("9780743273565", BookKeys.isbn("0-7432-7356-7"));
+        assertEquals("9780743273565", BookKeys.isbn("0743273567"));
+        assertEquals("9780743273565", BookKeys.isbn("978-0-7432-7356-5"));
+        assertEquals("9780743273565", BookKeys.isbn(" 978 0743273565 "));
+        // X check digit of ISBN-10
+        assertEquals("9780804429573", BookKeys.isbn("0-8044-2957-x"));
+    }
+
+    @Test
+    @DisplayName("Should keep values that are not ISBN-10 apart from separators")
+    void isbn_WithOtherValues_ShouldOnlyStripSeparators() {
+        assertEquals("ABC1234567890", BookKeys.isbn("abc-1234567890"));
+        assertNull(BookKeys.isbn(" - "));
+        assertNull(BookKeys.isbn(null));
+    }
+
+    @Test
+    @DisplayName("Should compute ISBN-13 check digits")
+    void isbn13CheckDigit_ShouldMatchKnownIsbn() {
+        // 978-0-306-40615-7
+        assertEquals(7, BookKeys.isbn13CheckDigit("978030640615"));
+    }
+}
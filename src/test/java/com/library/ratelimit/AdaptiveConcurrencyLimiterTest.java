@@ -0,0 +1,96 @@
+package com.library.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getConcurrency().setInitialLimit(2);
+        properties.getConcurrency().setMinLimit(1);
+        properties.getConcurrency().setMaxLimit(4);
+        limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should shed requests beyond the limit until a permit is released")
+    void tryAcquire_BeyondLimit_ShouldShed() {
+        // Given
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        // When & Then
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getShedCount());
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should reduce the limit once latency rises well above its baseline")
+    void recordLatency_WhenLatencyRises_ShouldReduceLimit() {
+        // Given
+        limiter.recordLatency(MILLISECOND);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limiter.recordLatency(100 * MILLISECOND);
+        }
+
+        // Then
+        assertEquals(1, limiter.getLimit());
+        assertTrue(limiter.getSmoothedLatencyMillis() > 2 * limiter.getBaselineLatencyMillis());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit up to its maximum while busy and latency is steady")
+    void recordLatency_WhenBusyAndSteady_ShouldGrowLimit() {
+        // Given
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            limiter.recordLatency(MILLISECOND);
+        }
+
+        // Then
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should fold in samples recorded concurrently")
+    void recordLatency_Concurrently_ShouldSmoothAllSamples() throws InterruptedException {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    limiter.recordLatency(5 * MILLISECOND);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(5.0, limiter.getSmoothedLatencyMillis(), 1e-6);
+        assertEquals(5.0, limiter.getBaselineLatencyMillis(), 1e-6);
+    }
+}
@@ -0,0 +1,96 @@
+package com.library.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private ClientRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCheap(new RateLimitProperties.Budget(3, 0.001));
+        properties.setExpensive(new RateLimitProperties.Budget(1, 0.001));
+        limiter = new ClientRateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should charge configured endpoints against the expensive and batch budgets")
+    void classify_ShouldMatchMethodAndPathPatterns() {
+        assertEquals(ClientRateLimiter.Tier.EXPENSIVE, limiter.classify("GET", "/api/books"));
+        assertEquals(ClientRateLimiter.Tier.EXPENSIVE, limiter.classify("PATCH", "/api/books/bulk"));
+        assertEquals(ClientRateLimiter.Tier.EXPENSIVE, limiter.classify("GET", "/api/books/export/42"));
+        assertEquals(ClientRateLimiter.Tier.BATCH, limiter.classify("POST", "/api/books/batch-get"));
+        assertEquals(ClientRateLimiter.Tier.CHEAP, limiter.classify("POST", "/api/books"));
+        assertEquals(ClientRateLimiter.Tier.CHEAP, limiter.classify("GET", "/api/books/42"));
+    }
+
+    @Test
+    @DisplayName("Should reject a client once its budget is spent and count the rejection")
+    void tryAcquire_WhenBudgetSpent_ShouldReject() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("key:a", ClientRateLimiter.Tier.CHEAP));
+        }
+
+        // When
+        long waitNanos = limiter.tryAcquire("key:a", ClientRateLimiter.Tier.CHEAP);
+
+        // Then
+        assertTrue(waitNanos > 0);
+        assertEquals(0, limiter.remaining("key:a", ClientRateLimiter.Tier.CHEAP));
+        assertEquals(1, limiter.rejectedCount(ClientRateLimiter.Tier.CHEAP));
+        assertEquals(0, limiter.rejectedCount(ClientRateLimiter.Tier.EXPENSIVE));
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets per client and per tier")
+    void tryAcquire_ShouldIsolateClientsAndTiers() {
+        // Given
+        assertEquals(0, limiter.tryAcquire("key:a", ClientRateLimiter.Tier.EXPENSIVE));
+        assertTrue(limiter.tryAcquire("key:a", ClientRateLimiter.Tier.EXPENSIVE) > 0);
+
+        // When & Then
+        assertEquals(0, limiter.tryAcquire("key:b", ClientRateLimiter.Tier.EXPENSIVE));
+        assertEquals(0, limiter.tryAcquire("key:a", ClientRateLimiter.Tier.CHEAP));
+        assertEquals(2, limiter.trackedClients(ClientRateLimiter.Tier.EXPENSIVE));
+    }
+
+    @Test
+    @DisplayName("Should report the full capacity for clients without state")
+    void remaining_ForUnknownClient_ShouldReturnCapacity() {
+        assertEquals(3, limiter.remaining("key:new", ClientRateLimiter.Tier.CHEAP));
+        assertEquals(0, limiter.trackedClients(ClientRateLimiter.Tier.CHEAP));
+    }
+
+    @Test
+    @DisplayName("Should keep the state of clients that have not refilled yet")
+    void evictIdleClients_ShouldKeepClientsStillRefilling() {
+        // Given
+        limiter.tryAcquire("key:a", ClientRateLimiter.Tier.CHEAP);
+
+        // When
+        limiter.evictIdleClients();
+
+        // Then
+        assertEquals(1, limiter.trackedClients(ClientRateLimiter.Tier.CHEAP));
+        assertEquals(2, limiter.remaining("key:a", ClientRateLimiter.Tier.CHEAP));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed endpoint patterns")
+    void constructor_WithMalformedEndpoint_ShouldThrowException() {
+        // Given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getExpensiveEndpoints().add("/api/books/reports");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new ClientRateLimiter(properties, new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.library.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(RateLimitConfig.class);
+
+    @Test
+    @DisplayName("Should bind the defaults")
+    void bind_WithDefaults_ShouldStart() {
+        contextRunner.run(context -> assertNull(context.getStartupFailure()));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with a zero refill rate")
+    void bind_WithZeroRefillRate_ShouldFail() {
+        contextRunner.withPropertyValues("library.rate-limit.cheap.refill-per-second=0")
+                .run(context -> assertInstanceOf(BindValidationException.class,
+                        NestedExceptionUtils.getMostSpecificCause(context.getStartupFailure())));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with a non-positive concurrency limit")
+    void bind_WithZeroMinLimit_ShouldFail() {
+        contextRunner.withPropertyValues("library.rate-limit.concurrency.min-limit=0")
+                .run(context -> assertInstanceOf(BindValidationException.class,
+                        NestedExceptionUtils.getMostSpecificCause(context.getStartupFailure())));
+    }
+}
@@ -0,0 +1,57 @@
+package com.library.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should admit a full burst and then reject")
+    void tryAcquire_ShouldAdmitUpToCapacity() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        // When & Then
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND, bucket.tryAcquire(0));
+        assertEquals(0, bucket.remaining(0));
+    }
+
+    @Test
+    @DisplayName("Should refill at the configured rate")
+    void tryAcquire_AfterRefillInterval_ShouldAdmitAgain() {
+        // Given
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        assertEquals(0, bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0) > 0);
+
+        // When & Then
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        assertFalse(bucket.isFull(SECOND / 2));
+        assertTrue(bucket.isFull(SECOND));
+    }
+
+    @Test
+    @DisplayName("Should not accumulate more tokens than its capacity while idle")
+    void remaining_AfterLongIdle_ShouldBeCappedAtCapacity() {
+        // Given
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        // When
+        long later = 60 * SECOND;
+
+        // Then
+        assertEquals(2, bucket.remaining(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+}
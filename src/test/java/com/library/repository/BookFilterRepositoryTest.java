@@ -0,0 +1,104 @@
+package com.library.repository;
+
+import com.library.model.Book;
+import com.library.model.BookKeys;
+import com.library.tenant.TenantConfig;
+import com.library.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the filter queries against the database, on a branch of their own.
+ * Not transactional: a session keeps the branch it was opened on, so each call needs its own.
+ */
+@DataJpaTest
+@Import(TenantConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookFilterRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.set("filter-test");
+        ids = List.of(
+                save("Animal Farm", "George Orwell", true),
+                save("1984", "George Orwell", false),
+                save("Homage to Catalonia", "George Orwell", true),
+                save("Brave New World", "Aldous Huxley", true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.set("filter-test");
+        bookRepository.deleteAllByIdInBatch(ids);
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should apply only the criteria that are set")
+    void findIdsByFilter_ShouldMatchSetCriteria() {
+        assertEquals(List.of(ids.get(0), ids.get(1), ids.get(2)),
+                bookRepository.findIdsByFilter("George Orwell", null, Long.MIN_VALUE, 10));
+        assertEquals(List.of(ids.get(0), ids.get(2), ids.get(3)),
+                bookRepository.findIdsByFilter(null, true, Long.MIN_VALUE, 10));
+        assertEquals(List.of(ids.get(1)),
+                bookRepository.findIdsByFilter("George Orwell", false, Long.MIN_VALUE, 10));
+        assertEquals(ids, bookRepository.findIdsByFilter(null, null, Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    @DisplayName("Should page through matching IDs by keyset")
+    void findIdsByFilter_ShouldReturnKeysetPages() {
+        // When
+        List<Long> first = bookRepository.findIdsByFilter("George Orwell", null, Long.MIN_VALUE, 2);
+        List<Long> second = bookRepository.findIdsByFilter("George Orwell", null, first.get(1), 2);
+
+        // Then
+        assertEquals(List.of(ids.get(0), ids.get(1)), first);
+        assertEquals(List.of(ids.get(2)), second);
+    }
+
+    @Test
+    @DisplayName("Should count the books matching the set criteria")
+    void countByFilter_ShouldMatchSetCriteria() {
+        assertEquals(3, bookRepository.countByFilter("George Orwell", null));
+        assertEquals(2, bookRepository.countByFilter("George Orwell", true));
+        assertEquals(3, bookRepository.countByFilter(null, true));
+        assertEquals(0, bookRepository.countByFilter("Jane Austen", null));
+    }
+
+    @Test
+    @DisplayName("Should not see books of other branches")
+    void countByFilter_ShouldBeRestrictedToCurrentBranch() {
+        // Given
+        TenantContext.set("other-branch");
+
+        // When & Then
+        assertEquals(0, bookRepository.countByFilter("George Orwell", null));
+        assertTrue(bookRepository.findIdsByFilter(null, null, Long.MIN_VALUE, 10).isEmpty());
+    }
+
+    private Long save(String title, String author, boolean available) {
+        return bookRepository.saveAndFlush(Book.builder()
+                .title(title)
+                .titleKey(BookKeys.titleKey(title))
+                .author(author)
+                .available(available)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,115 @@
+package com.library.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a {@code books} table as created by an earlier schema.sql, by running the current schema.sql
+ * and the migration against it, as the application does on start.
+ */
+class BookSchemaMigrationTest {
+
+    /** The table from before branches and title keys, with its table-wide unique constraints. */
+    private static final String LEGACY_BOOKS_TABLE =
+            "CREATE TABLE books (" +
+            "id BIGINT PRIMARY KEY AUTO_INCREMENT, " +
+            "title VARCHAR(255) NOT NULL UNIQUE, " +
+            "author VARCHAR(255), " +
+            "isbn VARCHAR(20) UNIQUE, " +
+            "available BOOLEAN DEFAULT TRUE, " +
+            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+            "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    private static final String INSERT_BOOK = "INSERT INTO books (branch_id, title, title_key, isbn) VALUES (?, ?, ?, ?)";
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private BookSchemaMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        migration = new BookSchemaMigration(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should assign a legacy table to the main branch and make titles and ISBNs unique per branch only")
+    void migrate_LegacyTable_ShouldBackfillTitleKeys() {
+        // Given
+        jdbcTemplate.execute(LEGACY_BOOKS_TABLE);
+        jdbcTemplate.update("INSERT INTO books (title, isbn) VALUES ('The  Great Gatsby ', '9780743273565')");
+        jdbcTemplate.update("INSERT INTO books (title, isbn) VALUES ('1984', '9780451524935')");
+        runSchemaScript();
+
+        // When
+        migration.migrate();
+
+        // Then
+        assertEquals(List.of("the great gatsby", "1984"),
+                jdbcTemplate.queryForList("SELECT title_key FROM books ORDER BY id", String.class));
+        assertEquals(List.of("main"), jdbcTemplate.queryForList("SELECT DISTINCT branch_id FROM books", String.class));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("INSERT INTO books (title) VALUES ('Dune')"));
+        jdbcTemplate.update(INSERT_BOOK, "east", "The  Great Gatsby ", "the great gatsby", "9780743273565");
+        assertThrows(DuplicateKeyException.class,
+                () -> jdbcTemplate.update(INSERT_BOOK, "east", "The Great Gatsby", "the great gatsby", "9780000000002"));
+        assertThrows(DuplicateKeyException.class,
+                () -> jdbcTemplate.update(INSERT_BOOK, "east", "Gatsby", "gatsby", "9780743273565"));
+    }
+
+    @Test
+    @DisplayName("Should reject a legacy table whose titles only differ in case or spacing")
+    void migrate_CollidingTitles_ShouldThrowException() {
+        // Given
+        jdbcTemplate.execute(LEGACY_BOOKS_TABLE);
+        jdbcTemplate.update("INSERT INTO books (title) VALUES ('Dune')");
+        jdbcTemplate.update("INSERT INTO books (title) VALUES ('DUNE')");
+        runSchemaScript();
+
+        // When / Then
+        assertThrows(IllegalStateException.class, migration::migrate);
+    }
+
+    @Test
+    @DisplayName("Should leave a table created by the current schema unchanged")
+    void migrate_CurrentSchema_ShouldChangeNothing() {
+        // Given
+        runSchemaScript();
+        List<String> keys = jdbcTemplate.queryForList("SELECT title_key FROM books ORDER BY id", String.class);
+
+        // When
+        migration.migrate();
+        migration.migrate();
+
+        // Then
+        assertEquals(keys, jdbcTemplate.queryForList("SELECT title_key FROM books ORDER BY id", String.class));
+        jdbcTemplate.update(INSERT_BOOK, "east", "1984", "1984", "9780451524935");
+    }
+
+    private void runSchemaScript() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(database);
+    }
+}
@@ -0,0 +1,111 @@
+package com.library.seed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogGeneratorTest {
+
+    private static final int BOOK_COUNT = 100_000;
+
+    private final CatalogGenerator generator = new CatalogGenerator(5_000, 1.0, 0.8, 42);
+
+    @Test
+    @DisplayName("Should generate unique titles and ISBNs")
+    void books_ShouldHaveUniqueTitlesAndIsbns() {
+        // When
+        List<GeneratedBook> books = generator.books(0, BOOK_COUNT).toList();
+
+        // Then
+        Set<String> titles = new HashSet<>();
+        Set<String> isbns = new HashSet<>();
+        books.forEach(book -> {
+            assertTrue(titles.add(book.title()), "Duplicate title " + book.title());
+            assertTrue(isbns.add(book.isbn()), "Duplicate ISBN " + book.isbn());
+        });
+    }
+
+    @Test
+    @DisplayName("Should generate valid ISBN-13 check digits")
+    void books_ShouldHaveValidIsbn13() {
+        generator.books(0, 1_000).forEach(book -> {
+            String isbn = book.isbn();
+            assertEquals(13, isbn.length());
+            assertTrue(isbn.startsWith("978"));
+
+            int sum = 0;
+            for (int i = 0; i < 13; i++) {
+                int digit = isbn.charAt(i) - '0';
+                sum += i % 2 == 0 ? digit : digit * 3;
+            }
+            assertEquals(0, sum % 10, "Invalid ISBN " + isbn);
+        });
+    }
+
+    @Test
+    @DisplayName("Should concentrate books on the most popular authors")
+    void books_ShouldFollowZipfianAuthorPopularity() {
+        // When
+        Map<String, Long> booksPerAuthor = generator.books(0, BOOK_COUNT)
+                .collect(Collectors.groupingBy(GeneratedBook::author, Collectors.counting()));
+
+        // Then
+        long topAuthorBooks = booksPerAuthor.getOrDefault(CatalogGenerator.authorName(0), 0L);
+        long tenthAuthorBooks = booksPerAuthor.getOrDefault(CatalogGenerator.authorName(9), 0L);
+        // For exponent 1, rank 1 receives about 1/H(5000) = 11% of the books and rank 10 a tenth of that
+        assertTrue(topAuthorBooks > BOOK_COUNT * 0.09, "Top author has " + topAuthorBooks + " books");
+        assertTrue(topAuthorBooks > tenthAuthorBooks * 7);
+        assertTrue(booksPerAuthor.size() > 2_000);
+    }
+
+    @Test
+    @DisplayName("Should generate the same catalog for the same seed")
+    void books_SameSeed_ShouldBeDeterministic() {
+        // When
+        List<GeneratedBook> first = generator.books(1_000, 500).toList();
+        List<GeneratedBook> second = new CatalogGenerator(5_000, 1.0, 0.8, 42).books(1_000, 500).toList();
+
+        // Then
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Should give a million-book catalog a million distinct titles without volumes")
+    void title_MillionBooks_ShouldNotNeedVolumes() {
+        assertTrue(LongStream.range(0, 1_000_000)
+                .mapToObj(CatalogGenerator::title)
+                .noneMatch(title -> title.contains(", Volume ")));
+    }
+
+    @Test
+    @DisplayName("Should keep titles unique across volumes once word combinations are exhausted")
+    void title_BeyondCombinations_ShouldAddVolume() {
+        // Given
+        long combinations = CatalogGenerator.TITLE_COMBINATIONS;
+
+        // When
+        Map<String, Long> titles = LongStream.range(combinations - 45_000, combinations + 45_000)
+                .mapToObj(CatalogGenerator::title)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        // Then
+        assertEquals(90_000, titles.size());
+        assertEquals(CatalogGenerator.title(5) + ", Volume 2", CatalogGenerator.title(combinations + 5));
+        assertTrue(CatalogGenerator.title(combinations * 2).endsWith(", Volume 3"));
+    }
+
+    @Test
+    @DisplayName("Should reject book indexes outside the ISBN range")
+    void books_IndexOutOfRange_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> generator.books(999_999_999L, 2));
+    }
+}
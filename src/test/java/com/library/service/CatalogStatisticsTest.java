@@ -0,0 +1,246 @@
+package com.library.service;
+
+import com.library.availability.AvailabilityWriteBehind;
+import com.library.cluster.BookChangeEvent;
+import com.library.dto.CatalogStatsDTO;
+import com.library.repository.AuthorBookCount;
+import com.library.repository.BookRepository;
+import com.library.repository.BranchBookCount;
+import com.library.tenant.TenantContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogStatisticsTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AvailabilityWriteBehind writeBehind;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CatalogStatistics catalogStatistics;
+
+    @Test
+    @DisplayName("Should maintain counters incrementally without querying the database")
+    void snapshot_AfterChanges_ShouldReflectCounters() {
+        // Given
+        catalogStatistics.bookAdded("George Orwell", true);
+        catalogStatistics.bookAdded("George Orwell", true);
+        catalogStatistics.bookAdded("Jane Austen", true);
+        catalogStatistics.availabilityChanged(false, 1);
+        catalogStatistics.bookChanged("Jane Austen", true, "Harper Lee", true);
+
+        // When
+        CatalogStatsDTO stats = catalogStatistics.snapshot(10);
+
+        // Then
+        assertEquals(3, stats.getTotalBooks());
+        assertEquals(2, stats.getAvailableBooks());
+        assertEquals(1, stats.getCheckedOutBooks());
+        assertEquals(2L, stats.getTopAuthors().get("George Orwell"));
+        assertEquals(1L, stats.getTopAuthors().get("Harper Lee"));
+        assertFalse(stats.getTopAuthors().containsKey("Jane Austen"));
+        assertEquals(2, stats.getAuthors());
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep authors ranked by book count as their counts change")
+    void snapshot_AfterChanges_ShouldRankTopAuthors() {
+        // Given
+        catalogStatistics.bookAdded("George Orwell", true);
+        catalogStatistics.bookAdded("George Orwell", true);
+        catalogStatistics.bookAdded("Jane Austen", true);
+        catalogStatistics.bookAdded("Harper Lee", true);
+        catalogStatistics.booksRemoved("George Orwell", true, 2);
+        catalogStatistics.bookAdded("Jane Austen", false);
+
+        // When
+        CatalogStatsDTO stats = catalogStatistics.snapshot(2);
+
+        // Then
+        assertEquals(List.of("Jane Austen", "Harper Lee"), List.copyOf(stats.getTopAuthors().keySet()));
+        assertEquals(2L, stats.getTopAuthors().get("Jane Austen"));
+        assertEquals(2, stats.getAuthors());
+    }
+
+    @Test
+    @DisplayName("Should reset drifted counters from COUNT queries on reconciliation")
+    void reconcile_ShouldResetCountersFromDatabase() {
+        // Given
+        runTransactionsInline();
+        catalogStatistics.bookAdded("Removed Author", true);
+        when(bookRepository.countBooksByBranch()).thenReturn(List.of(branchCount("main", 5, 3)));
+        when(bookRepository.countBooksByAuthor()).thenReturn(List.of(authorCount("main", "George Orwell", 5)));
+
+        // When
+        catalogStatistics.reconcile();
+        CatalogStatsDTO stats = catalogStatistics.snapshot(10);
+
+        // Then
+        assertEquals(5, stats.getTotalBooks());
+        assertEquals(3, stats.getAvailableBooks());
+        assertEquals(1, stats.getAuthors());
+        assertEquals(5L, stats.getTopAuthors().get("George Orwell"));
+        assertNotNull(stats.getLastReconciledAt());
+    }
+
+    @Test
+    @DisplayName("Should keep separate counters for each branch")
+    void snapshot_ShouldOnlyReflectCurrentBranch() {
+        // Given
+        catalogStatistics.bookAdded("George Orwell", true);
+        TenantContext.set("east");
+        try {
+            catalogStatistics.bookAdded("Jane Austen", false);
+            catalogStatistics.bookAdded("Jane Austen", true);
+
+            // When
+            CatalogStatsDTO east = catalogStatistics.snapshot(10);
+
+            // Then
+            assertEquals(2, east.getTotalBooks());
+            assertEquals(1, east.getAvailableBooks());
+            assertEquals(2L, east.getTopAuthors().get("Jane Austen"));
+        } finally {
+            TenantContext.clear();
+        }
+        CatalogStatsDTO main = catalogStatistics.snapshot(10);
+        assertEquals(1, main.getTotalBooks());
+        assertFalse(main.getTopAuthors().containsKey("Jane Austen"));
+    }
+
+    @Test
+    @DisplayName("Should reconcile every branch and clear branches without books")
+    void reconcile_ShouldResetEachBranch() {
+        // Given
+        TenantContext.set("closed");
+        try {
+            catalogStatistics.bookAdded("Harper Lee", true);
+        } finally {
+            TenantContext.clear();
+        }
+        runTransactionsInline();
+        when(bookRepository.countBooksByBranch()).thenReturn(List.of(branchCount("main", 2, 1),
+                branchCount("east", 4, 4)));
+        when(bookRepository.countBooksByAuthor()).thenReturn(List.of(authorCount("main", "George Orwell", 2),
+                authorCount("east", "Jane Austen", 4)));
+
+        // When
+        catalogStatistics.reconcile();
+
+        // Then
+        assertEquals(2, catalogStatistics.snapshot(10).getTotalBooks());
+        TenantContext.set("east");
+        try {
+            assertEquals(4, catalogStatistics.snapshot(10).getAvailableBooks());
+            assertEquals(4L, catalogStatistics.snapshot(10).getTopAuthors().get("Jane Austen"));
+            TenantContext.set("closed");
+            assertEquals(0, catalogStatistics.snapshot(10).getTotalBooks());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply changes committed by other nodes to the branch they were made in")
+    void remoteChange_ShouldApplyCountsToEventBranch() {
+        // Given
+        BookChangeEvent added = BookChangeEvent.added(1L, "George Orwell", true).from("other", "main");
+        BookChangeEvent checkedOut = BookChangeEvent.availabilityChanged(List.of(1L), false, 1).from("other", "main");
+        BookChangeEvent elsewhere = BookChangeEvent.added(2L, "Jane Austen", true).from("other", "east");
+
+        // When
+        catalogStatistics.remoteChange(added);
+        catalogStatistics.remoteChange(checkedOut);
+        catalogStatistics.remoteChange(elsewhere);
+        CatalogStatsDTO stats = catalogStatistics.snapshot(10);
+
+        // Then
+        assertEquals(1, stats.getTotalBooks());
+        assertEquals(0, stats.getAvailableBooks());
+        assertEquals(1L, stats.getTopAuthors().get("George Orwell"));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the counters in a transaction when other nodes ask for a resync")
+    void remoteChange_WithResync_ShouldReconcileInTransaction() {
+        // Given
+        runTransactionsInline();
+        when(bookRepository.countBooksByBranch()).thenReturn(List.of(branchCount("main", 2, 2)));
+        when(bookRepository.countBooksByAuthor()).thenReturn(List.of(authorCount("main", "George Orwell", 2)));
+
+        // When
+        catalogStatistics.remoteChange(BookChangeEvent.resync("other"));
+
+        // Then
+        verify(transactionTemplate).executeWithoutResult(any());
+        verify(writeBehind).settle();
+        assertEquals(2, catalogStatistics.snapshot(10).getTotalBooks());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    private static BranchBookCount branchCount(String branch, long count, long available) {
+        return new BranchBookCount() {
+            @Override
+            public String getBranchId() {
+                return branch;
+            }
+
+            @Override
+            public long getBookCount() {
+                return count;
+            }
+
+            @Override
+            public long getAvailableCount() {
+                return available;
+            }
+        };
+    }
+
+    private static AuthorBookCount authorCount(String branch, String author, long count) {
+        return new AuthorBookCount() {
+            @Override
+            public String getBranchId() {
+                return branch;
+            }
+
+            @Override
+            public String getAuthor() {
+                return author;
+            }
+
+            @Override
+            public long getBookCount() {
+                return count;
+            }
+        };
+    }
+}
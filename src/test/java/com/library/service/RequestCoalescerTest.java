@@ -0,0 +1,133 @@
+package com.library.service;
+
+import com.library.dto.BookResponseDTO;
+import com.library.exception.BookNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private RequestCoalescer requestCoalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight load between concurrent identical calls")
+    void execute_ConcurrentIdenticalCalls_ShouldLoadOnce() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> requestCoalescer.execute("lookup", 1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "book-1";
+            })));
+        }
+        // Wait until every caller has either started the load or joined it
+        while (requestCoalescer.executedCount("lookup") + requestCoalescer.collapsedCount("lookup") < CALLERS) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("book-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, requestCoalescer.executedCount("lookup"));
+        assertEquals(CALLERS - 1, requestCoalescer.collapsedCount("lookup"));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should give every concurrent caller its own copy of a mutable result")
+    void execute_WithCopier_ShouldIsolateCallers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<BookResponseDTO>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> requestCoalescer.execute("lookup", 1L, () -> {
+                await(release);
+                return BookResponseDTO.builder().id(1L).title("Dune").available(true).build();
+            }, book -> book.toBuilder().build())));
+        }
+        while (requestCoalescer.executedCount("lookup") + requestCoalescer.collapsedCount("lookup") < CALLERS) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        List<BookResponseDTO> books = new ArrayList<>();
+        for (Future<BookResponseDTO> result : results) {
+            books.add(result.get(5, TimeUnit.SECONDS));
+        }
+        books.get(0).setAvailable(false);
+
+        // Then
+        assertEquals(CALLERS - 1, requestCoalescer.collapsedCount("lookup"));
+        Set<BookResponseDTO> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(books);
+        assertEquals(CALLERS, distinct.size());
+        assertTrue(books.subList(1, CALLERS).stream().allMatch(BookResponseDTO::isAvailable));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should not cache results once the load has completed")
+    void execute_SequentialCalls_ShouldLoadEachTime() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        requestCoalescer.execute("lookup", 1L, loads::incrementAndGet);
+        requestCoalescer.execute("lookup", 1L, loads::incrementAndGet);
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, requestCoalescer.collapsedCount("lookup"));
+    }
+
+    @Test
+    @DisplayName("Should propagate the loader's exception to the caller")
+    void execute_WhenLoaderThrows_ShouldRethrow() {
+        // When & Then
+        assertThrows(BookNotFoundException.class, () -> requestCoalescer.execute("lookup", 999L, () -> {
+            throw new BookNotFoundException(999L);
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
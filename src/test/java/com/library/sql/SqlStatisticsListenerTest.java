@@ -0,0 +1,161 @@
+package com.library.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsListenerTest {
+
+    private static final String SELECT_BY_ID = "select b.id, b.title from books b where b.id=?";
+
+    private SqlMonitoringProperties properties;
+    private SqlStatisticsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SqlMonitoringProperties();
+        properties.setSlowQueryThreshold(Duration.ofMillis(100));
+        listener = new SqlStatisticsListener(properties, new SimpleMeterRegistry(), Clock.systemUTC());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlQueryContext.end();
+    }
+
+    @Test
+    @DisplayName("Should count statements per request and report repeated ones")
+    void afterQuery_WithinContext_ShouldCountRepeatedStatements() throws Exception {
+        // Given
+        SqlQueryContext context = SqlQueryContext.begin();
+
+        // When
+        for (long id = 1; id <= 6; id++) {
+            listener.afterQuery(execution(5), List.of(query(SELECT_BY_ID, id)));
+        }
+        listener.afterQuery(execution(5), List.of(new QueryInfo("select count(*) from books")));
+
+        // Then
+        assertEquals(7, context.getQueryCount());
+        assertEquals(Map.of(SELECT_BY_ID, 6), context.repeatedStatements(5));
+        assertEquals(7L, listener.queryCounts().get("select"));
+    }
+
+    @Test
+    @DisplayName("Should fail the statement that reaches the repeat threshold when failing on N+1 queries")
+    void afterQuery_WithFailOnNPlusOne_ShouldThrowAtThreshold() throws Exception {
+        // Given
+        properties.setFailOnNPlusOne(true);
+        properties.setRepeatedStatementThreshold(3);
+        SqlQueryContext.begin();
+        listener.afterQuery(execution(5), List.of(query(SELECT_BY_ID, 1L)));
+        listener.afterQuery(execution(5), List.of(query(SELECT_BY_ID, 2L)));
+
+        // When & Then
+        NPlusOneQueryException exception = assertThrows(NPlusOneQueryException.class,
+                () -> listener.afterQuery(execution(5), List.of(query(SELECT_BY_ID, 3L))));
+        assertTrue(exception.getMessage().contains(SELECT_BY_ID));
+    }
+
+    @Test
+    @DisplayName("Should fail the statement that exceeds the per-request maximum when failing on N+1 queries")
+    void afterQuery_WithFailOnNPlusOne_ShouldThrowAboveMaximum() throws Exception {
+        // Given
+        properties.setFailOnNPlusOne(true);
+        properties.setMaxQueriesPerRequest(2);
+        SqlQueryContext.begin();
+        listener.afterQuery(execution(5), List.of(new QueryInfo("select 1")));
+        listener.afterQuery(execution(5), List.of(new QueryInfo("select 2")));
+
+        // When & Then
+        assertThrows(NPlusOneQueryException.class,
+                () -> listener.afterQuery(execution(5), List.of(new QueryInfo("select 3"))));
+    }
+
+    @Test
+    @DisplayName("Should not fail requests excluded from N+1 detection")
+    void afterQuery_WithDetectionOff_ShouldNotThrow() throws Exception {
+        // Given
+        properties.setFailOnNPlusOne(true);
+        SqlQueryContext context = SqlQueryContext.begin(false);
+
+        // When
+        for (long id = 1; id <= 10; id++) {
+            listener.afterQuery(execution(5), List.of(query(SELECT_BY_ID, id)));
+        }
+
+        // Then
+        assertEquals(10, context.getQueryCount());
+    }
+
+    @Test
+    @DisplayName("Should not count statements outside a request in the request context")
+    void afterQuery_WithoutContext_ShouldOnlyCountGlobally() throws Exception {
+        // When
+        listener.afterQuery(execution(5), List.of(query(SELECT_BY_ID, 1L)));
+
+        // Then
+        assertTrue(SqlQueryContext.current().isEmpty());
+        assertEquals(1L, listener.queryCounts().get("select"));
+    }
+
+    @Test
+    @DisplayName("Should log slow statements with their bound parameters")
+    void afterQuery_SlowStatement_ShouldRecordParameters() throws Exception {
+        // When
+        listener.afterQuery(execution(150), List.of(query(SELECT_BY_ID, 42L)));
+        listener.afterQuery(execution(20), List.of(query(SELECT_BY_ID, 43L)));
+
+        // Then
+        assertEquals(1, listener.slowQueryCount());
+        List<SlowQuery> slowQueries = listener.recentSlowQueries();
+        assertEquals(1, slowQueries.size());
+        assertEquals(150, slowQueries.get(0).elapsedMillis());
+        assertEquals(SELECT_BY_ID, slowQueries.get(0).sql());
+        assertEquals(List.of(List.of(42L)), slowQueries.get(0).parameters());
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent slow statements")
+    void afterQuery_ManySlowStatements_ShouldBoundLog() throws Exception {
+        // Given
+        properties.setSlowQueryLogSize(3);
+
+        // When
+        for (long id = 1; id <= 5; id++) {
+            listener.afterQuery(execution(200), List.of(query(SELECT_BY_ID, id)));
+        }
+
+        // Then
+        assertEquals(5, listener.slowQueryCount());
+        assertEquals(List.of(List.of(5L)), listener.recentSlowQueries().get(0).parameters());
+        assertEquals(3, listener.recentSlowQueries().size());
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+
+    private static QueryInfo query(String sql, long id) throws Exception {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        queryInfo.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setLong", int.class, long.class), new Object[]{1, id})));
+        return queryInfo;
+    }
+}
@@ -0,0 +1,146 @@
+package com.library.tenant;
+
+import com.library.dto.BookBatchResponseDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.BookResponseDTO;
+import com.library.dto.BulkBookFilter;
+import com.library.dto.BulkDeleteRequestDTO;
+import com.library.dto.BulkOperationResponseDTO;
+import com.library.dto.BulkUpdateRequestDTO;
+import com.library.exception.BookNotFoundException;
+import com.library.repository.BookRepository;
+import com.library.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the catalog against the database with two branches, to check that Hibernate's branch restriction
+ * covers every way of reaching a book: loads by ID, ID lists, the full list and bulk statements.
+ * Not transactional: a session keeps the branch it was opened on, so every call opens its own.
+ */
+@SpringBootTest
+class BranchIsolationTest {
+
+    private static final BookDTO DUNE = BookDTO.builder()
+            .title("Dune")
+            .author("Frank Herbert")
+            .isbn("978-0-441-17271-9")
+            .available(true)
+            .build();
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final String branchA = "isolation-a-" + UUID.randomUUID().toString().substring(0, 8);
+    private final String branchB = "isolation-b-" + UUID.randomUUID().toString().substring(0, 8);
+    private Long duneInA;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.set(branchA);
+        duneInA = bookService.addBook(DUNE).getId();
+        TenantContext.set(branchB);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should not find a book of another branch by its ID")
+    void findById_FromOtherBranch_ShouldNotFindBook() {
+        assertTrue(bookRepository.findById(duneInA).isEmpty());
+        assertThrows(BookNotFoundException.class, () -> bookService.getBookById(duneInA));
+    }
+
+    @Test
+    @DisplayName("Should not find a book of another branch in an ID list")
+    void findAllById_FromOtherBranch_ShouldNotFindBook() {
+        // When
+        BookBatchResponseDTO batch = bookService.getBooksByIds(List.of(duneInA));
+
+        // Then
+        assertTrue(bookRepository.findAllById(List.of(duneInA)).isEmpty());
+        assertTrue(batch.getBooks().isEmpty());
+        assertEquals(List.of(duneInA), batch.getMissingIds());
+    }
+
+    @Test
+    @DisplayName("Should not list the books of another branch")
+    void list_FromOtherBranch_ShouldNotContainBook() {
+        // When
+        List<BookResponseDTO> streamed = new ArrayList<>();
+        bookService.streamAllBooks(streamed::add);
+
+        // Then
+        assertTrue(streamed.isEmpty());
+        assertEquals(0, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should leave books of another branch alone in bulk updates by ID and by filter")
+    void bulkUpdate_FromOtherBranch_ShouldNotChangeBook() {
+        // When
+        BulkOperationResponseDTO byIds = bookService.bulkUpdateAvailability(BulkUpdateRequestDTO.builder()
+                .ids(List.of(duneInA))
+                .available(false)
+                .build());
+        BulkOperationResponseDTO byFilter = bookService.bulkUpdateAvailability(BulkUpdateRequestDTO.builder()
+                .filter(BulkBookFilter.builder().author("Frank Herbert").build())
+                .available(false)
+                .build());
+
+        // Then
+        assertEquals(List.of(new BulkOperationResponseDTO.ItemResult(duneInA, BulkOperationResponseDTO.Status.NOT_FOUND)),
+                byIds.getResults());
+        assertEquals(0, byFilter.getRequested());
+        TenantContext.set(branchA);
+        assertTrue(bookService.getBookById(duneInA).isAvailable());
+    }
+
+    @Test
+    @DisplayName("Should leave books of another branch alone in bulk deletes by ID and by filter")
+    void bulkDelete_FromOtherBranch_ShouldNotDeleteBook() {
+        // When
+        BulkOperationResponseDTO byIds = bookService.bulkDelete(BulkDeleteRequestDTO.builder()
+                .ids(List.of(duneInA))
+                .build());
+        BulkOperationResponseDTO byFilter = bookService.bulkDelete(BulkDeleteRequestDTO.builder()
+                .filter(BulkBookFilter.builder().author("Frank Herbert").build())
+                .build());
+
+        // Then
+        assertEquals(0, byIds.getSucceeded());
+        assertEquals(0, byFilter.getRequested());
+        TenantContext.set(branchA);
+        assertEquals(duneInA, bookService.getBookById(duneInA).getId());
+    }
+
+    @Test
+    @DisplayName("Should allow the same title and ISBN in another branch")
+    void addBook_WithTitleAndIsbnOfOtherBranch_ShouldSucceed() {
+        // When
+        BookResponseDTO duneInB = bookService.addBook(DUNE);
+
+        // Then
+        assertNotEquals(duneInA, duneInB.getId());
+        assertEquals(duneInB.getId(), bookService.getBookById(duneInB.getId()).getId());
+        TenantContext.set(branchA);
+        assertEquals(List.of(duneInA), bookService.getBooksByIds(List.of(duneInA, duneInB.getId())).getBooks()
+                .stream().map(BookResponseDTO::getId).toList());
+    }
+}
@@ -0,0 +1,63 @@
+package com.library.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantContextTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default branch when none is set")
+    void current_WithoutBranch_ShouldReturnDefault() {
+        assertEquals(TenantContext.DEFAULT_BRANCH, TenantContext.current());
+
+        TenantContext.set("east");
+        assertEquals("east", TenantContext.current());
+    }
+
+    @Test
+    @DisplayName("Should run wrapped tasks on the branch that was current when wrapping")
+    void wrap_ShouldPropagateBranchToOtherThreads() {
+        // Given
+        TenantContext.set("east");
+        Runnable task = TenantContext.wrap(() -> assertEquals("east", TenantContext.current()));
+
+        // When & Then
+        CompletableFuture.runAsync(task).join();
+        assertDoesNotThrow(() -> CompletableFuture.runAsync(() ->
+                assertEquals(TenantContext.DEFAULT_BRANCH, TenantContext.current())).join());
+    }
+
+    @Test
+    @DisplayName("Should restore the previous branch after a wrapped task")
+    void wrap_ShouldRestorePreviousBranch() {
+        // Given
+        TenantContext.set("east");
+        Runnable task = TenantContext.wrap(() -> assertEquals("east", TenantContext.current()));
+        TenantContext.set("west");
+
+        // When
+        task.run();
+
+        // Then
+        assertEquals("west", TenantContext.current());
+    }
+
+    @Test
+    @DisplayName("Should normalize branch IDs and reject malformed ones")
+    void normalize_ShouldLowerCaseAndValidate() {
+        assertEquals("north-side_2", TenantContext.normalize(" North-Side_2 "));
+        assertThrows(IllegalArgumentException.class, () -> TenantContext.normalize("-east"));
+        assertThrows(IllegalArgumentException.class, () -> TenantContext.normalize("east branch"));
+        assertThrows(IllegalArgumentException.class, () -> TenantContext.normalize("x".repeat(65)));
+    }
+}